@@ -1,5 +1,9 @@
 package report;
 
+import com.intuit.karate.Results;
+import com.intuit.karate.core.FeatureResult;
+import com.intuit.karate.core.ScenarioResult;
+import com.intuit.karate.core.Step;
 import org.w3c.dom.*;
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
@@ -21,16 +25,19 @@ public class ExecutiveSummaryReport {
         double timeSec;
         Status status;
         String message;     // short reason if failed
-        String details;     // optional long text
-        String sourceXml;   // file path (optional)
-
-        TestCaseResult(String name, String classname, double timeSec, Status status, String message, String details, String sourceXml) {
+        long detailsRef = FailureStore.NONE; // optional long text, spilled to Summary.details
+        String sourceXml;   // file path (optional, interned)
+        String failedStep;  // failing step text (failures only, interned)
+        int clusterId = -1; // FailureClusters id (failures only)
+        boolean exemplar;   // one of the few cases shown in full for its cluster
+        Path logFile;       // per-scenario log, failures only (optional, see support.ScenarioLogContext)
+
+        TestCaseResult(String name, String classname, double timeSec, Status status, String message, String sourceXml) {
             this.name = name;
             this.classname = classname;
             this.timeSec = timeSec;
             this.status = status;
             this.message = message;
-            this.details = details;
             this.sourceXml = sourceXml;
         }
     }
@@ -41,26 +48,98 @@ public class ExecutiveSummaryReport {
         int passed;
         int failed;
         int skipped;
+        int timedOut; // included in failed
         double timeSec;
         List<TestCaseResult> cases = new ArrayList<>();
     }
 
-        enum Status { PASS, FAIL, UNSTABLE, SKIP }
+        enum Status { PASS, FAIL, TIMEOUT, UNSTABLE, SKIP } // TIMEOUT: failed on a scenario/suite deadline
+
+    static class ThrottleStats {
+        String service;
+        double maxRps;
+        int maxConcurrency;
+        long calls;
+        long throttledCalls;
+        long waitMs;
+        int peakInFlight;
+        long rateLimited429;
+    }
+
+    static class RunStats {
+        String source;
+        Properties p; // run-metrics.properties as written by support.RunMetrics
+
+        double num(String key) {
+            return parseDouble(p.getProperty(key));
+        }
+    }
+
+    static class ConcurrencyStats {
+        String source;
+        int start;
+        int max;
+        int finalLimit;
+        int peakRunning;
+        double timeWeighted;
+        int increases;
+        int decreases;
+        long gateWaitMs;
+        List<String[]> windows = new ArrayList<>(); // elapsed|limit|next|scenarios/s|httpMs|error%|failed|decision
+    }
+
+    static class MemoStats {
+        long fetches;
+        long hits;
+        long sharedInFlight;
+        long evictions;
+        long bytesSaved;
+        int maxEntries;
+    }
 
-    static class Summary {
+    // Closing deletes the failure-details spill file
+    static class Summary implements Closeable {
         int totalTests;
         int passed;
         int failed;
         int skipped;
+        int timedOut; // included in failed
         double timeSec;
         List<SuiteResult> suites = new ArrayList<>();
-        List<TestCaseResult> failedCases = new ArrayList<>();
+        int failedCount;
+        List<TestCaseResult> failedCases = new ArrayList<>(); // slowest TOP_FAILURES only (bounded heap, no full sort)
+        FailureStore details = new FailureStore();            // failure texts live on disk, not on the heap
+        private final Map<String, String> strings = new HashMap<>();
         Path karateSummaryHtml; // optional
         String suiteGuess = "unknown";
         String envGuess = "unknown";
         String serviceGuess = "unknown";
+        List<FailureClusters.Cluster> clusters = new ArrayList<>(); // failures grouped by normalized signature
+        List<JfrHotspots.Hotspot> hotspots = new ArrayList<>(); // only with -Dprofile=jfr
+        Map<String, ThrottleStats> throttling = new TreeMap<>(); // from throttle.properties (optional)
+        MemoStats memo; // from memo.properties, only when @memo scenarios ran
+        List<ConcurrencyStats> concurrency = new ArrayList<>(); // from concurrency.properties (-Dthreads=auto)
+        List<RunStats> runs = new ArrayList<>(); // from run-metrics.properties (runner wall clock + resources)
+        List<Properties> chaos = new ArrayList<>(); // from chaos.properties (chaos proxy enabled for the service)
+
+        // Classnames / source paths repeat for every case of a feature: keep one copy each
+        String intern(String value) {
+            if (value == null) return null;
+            String existing = strings.putIfAbsent(value, value);
+            return existing != null ? existing : value;
+        }
+
+        @Override
+        public void close() {
+            details.close();
+        }
     }
 
+    static final int TOP_FAILURES = 20;
+    static final String TIMEOUT_MARKER = "[TIMEOUT]"; // support.Deadlines.MARKER
+    static final int MAX_CLUSTERS = 25;
+    static final int HTML_FLUSH_CHARS = 1 << 20;
+
     // ------------ Main ------------
     public static void main(String[] args) throws Exception {
         String inputRoot = args != null && args.length > 0 ? args[0] : "target/karate-reports";
@@ -69,19 +148,76 @@ public class ExecutiveSummaryReport {
         Path inputDir = Paths.get(inputRoot).normalize();
         Path outputFile = Paths.get(outputHtml).normalize();
 
-        Summary summary = collectSummary(inputDir);
-        ensureParentDir(outputFile);
-
-        String html = buildHtml(summary, inputDir, outputFile);
-        Files.writeString(outputFile, html, StandardCharsets.UTF_8);
+        try (Summary summary = new Summary()) {
+            collectSummary(inputDir, summary);
+            ensureParentDir(outputFile);
+            writeReport(summary, inputDir, outputFile);
+        }
 
         System.out.println("[ExecutiveSummaryReport] Generated: " + outputFile.toAbsolutePath());
     }
 
-    // ------------ Collect ------------
-    static Summary collectSummary(Path inputDir) throws Exception {
-        Summary summary = new Summary();
+    // In-process entry point (runners): built straight from Karate's Results, no JUnit XML round-trip.
+    // main() above stays as the offline fallback over an existing report tree.
+    // Never throws: a broken report must not fail the test run.
+    public static Path generate(Results results, String suite, String env, String service, Path reportDir, Path outputHtml) {
+        try (Summary summary = new Summary()) {
+            fromResults(results, summary);
+            summary.suiteGuess = suite;
+            summary.envGuess = env;
+            summary.serviceGuess = service;
+            Path karateSummary = reportDir.resolve("karate-summary.html");
+            summary.karateSummaryHtml = Files.exists(karateSummary) ? karateSummary : null;
+            finishSummary(reportDir, summary);
+
+            Path outputFile = outputHtml.normalize();
+            ensureParentDir(outputFile);
+            writeReport(summary, reportDir, outputFile);
+            System.out.println("[ExecutiveSummaryReport] Generated: " + outputFile.toAbsolutePath());
+            return outputFile;
+        } catch (Exception e) {
+            System.err.println("[ExecutiveSummaryReport] Could not generate report: " + e);
+            return null;
+        }
+    }
 
+    static void fromResults(Results results, Summary summary) throws IOException {
+        for (Iterator<FeatureResult> it = results.getFeatureResults().iterator(); it.hasNext(); ) {
+            FeatureResult fr = it.next();
+            SuiteResult suite = new SuiteResult();
+            suite.displayName = summary.intern(fr.getPackageQualifiedName()); // same as the JUnit XML testsuite name
+            suite.timeSec = fr.getDurationMillis() / 1000.0;
+            for (ScenarioResult sr : fr.getScenarioResults()) {
+                boolean failed = sr.isFailed();
+                String error = failed ? safe(sr.getErrorMessage()) : "";
+                TestCaseResult c = new TestCaseResult(
+                        sr.getScenario().getRefIdAndName(), suite.displayName, sr.getDurationMillis() / 1000.0,
+                        !failed ? Status.PASS : timedOut(error, sr.getError()) ? Status.TIMEOUT : Status.FAIL,
+                        trimOneLine(error, 160),
+                        null
+                );
+                c.detailsRef = summary.details.put(trim(error, 1200));
+                if (failed && sr.getFailedStep() != null) {
+                    Step step = sr.getFailedStep().getStep();
+                    c.failedStep = summary.intern((safe(step.getPrefix()) + " " + safe(step.getText())).trim());
+                }
+                suite.cases.add(c);
+                suite.tests++;
+                if (failed) suite.failed++;
+            }
+            suite.passed = suite.tests - suite.failed;
+            if (suite.tests > 0) summary.suites.add(suite);
+        }
+    }
+
+    static void writeReport(Summary summary, Path inputDir, Path outputFile) throws IOException {
+        try (Writer out = Files.newBufferedWriter(outputFile, StandardCharsets.UTF_8)) {
+            writeHtml(summary, inputDir, outputFile, out);
+        }
+    }
+
+    // ------------ Collect ------------
+    static void collectSummary(Path inputDir, Summary summary) throws Exception {
         if (!Files.exists(inputDir)) {
             throw new IllegalStateException("Input folder not found: " + inputDir.toAbsolutePath());
         }
@@ -112,7 +248,23 @@ public class ExecutiveSummaryReport {
             parseJUnitXmlIntoSummary(xml, summary);
         }
 
-        // 5) Compute totals and collect failed test cases
+        finishSummary(inputDir, summary);
+    }
+
+    // Shared by the XML and in-process paths: side files written by the runner + totals
+    static void finishSummary(Path inputDir, Summary summary) throws IOException {
+        // 5) Link per-scenario logs (written by the runner next to the reports)
+        attachScenarioLogs(inputDir, summary);
+
+        // 5b) Failures the runner cut short on a deadline (the HTTP error message may hide the marker)
+        markTimeouts(inputDir, summary);
+
+        // 6) Compute totals and keep the slowest failures (min-heap of TOP_FAILURES, O(n log k))
+        Comparator<TestCaseResult> slowestFirst = Comparator
+                .comparingDouble((TestCaseResult c) -> c.timeSec).reversed()
+                .thenComparing(c -> safe(c.name));
+        PriorityQueue<TestCaseResult> slowest = new PriorityQueue<>(TOP_FAILURES + 1, slowestFirst.reversed());
+        FailureClusters clusters = new FailureClusters();
         for (SuiteResult s : summary.suites) {
             summary.totalTests += s.tests;
             summary.passed += s.passed;
@@ -121,19 +273,74 @@ public class ExecutiveSummaryReport {
             summary.timeSec += s.timeSec;
 
             for (TestCaseResult c : s.cases) {
-                if (c.status == Status.FAIL) summary.failedCases.add(c);
+                if (!isFailure(c.status)) continue;
+                summary.failedCount++;
+                if (c.status == Status.TIMEOUT) {
+                    s.timedOut++;
+                    summary.timedOut++;
+                }
+                c.clusterId = clusters.add(c);
+                slowest.add(c);
+                if (slowest.size() > TOP_FAILURES) slowest.poll();
             }
         }
 
-        summary.failedCases.sort(Comparator
-                .comparingDouble((TestCaseResult c) -> c.timeSec).reversed()
-                .thenComparing(c -> safe(c.name)));
+        summary.failedCases = new ArrayList<>(slowest);
+        summary.failedCases.sort(slowestFirst);
+
+        // 6b) Merge near-identical signatures, then map each failure to its cluster + pick exemplars
+        if (summary.failedCount > 0) {
+            summary.clusters = clusters.build();
+            for (SuiteResult s : summary.suites) {
+                for (TestCaseResult c : s.cases) {
+                    if (!isFailure(c.status)) continue;
+                    c.clusterId = clusters.clusterOf(c.clusterId);
+                    FailureClusters.Cluster cl = summary.clusters.get(c.clusterId - 1);
+                    if (cl.features.size() < 20) cl.features.add(s.displayName);
+                    if (cl.exemplars.size() < FailureClusters.EXEMPLARS) {
+                        cl.exemplars.add(c);
+                        c.exemplar = true;
+                    }
+                }
+            }
+        }
 
         summary.suites.sort(Comparator
                 .comparingInt((SuiteResult s) -> s.failed).reversed()
                 .thenComparing(s -> safe(s.displayName)));
 
-        return summary;
+        // 7) Client-side throttling stats (services with maxRps / maxConcurrency)
+        for (Path f : findFiles(inputDir, "throttle.properties")) {
+            parseThrottleStats(f, summary);
+        }
+        for (Path f : findFiles(inputDir, "memo.properties")) {
+            parseMemoStats(f, summary);
+        }
+        for (Path f : findFiles(inputDir, "concurrency.properties")) {
+            parseConcurrencyStats(inputDir, f, summary);
+        }
+        for (Path f : findFiles(inputDir, "chaos.properties")) {
+            Properties p = new Properties();
+            try (InputStream is = Files.newInputStream(f)) {
+                p.load(is);
+            }
+            summary.chaos.add(p);
+        }
+        for (Path f : findFiles(inputDir, "run-metrics.properties")) {
+            RunStats r = new RunStats();
+            r.source = sourceOf(inputDir, f);
+            r.p = new Properties();
+            try (InputStream is = Files.newInputStream(f)) {
+                r.p.load(is);
+            }
+            summary.runs.add(r);
+        }
+
+        // 8) Optional JFR recordings (-Dprofile=jfr) -> hotspot table
+        List<Path> recordings = findFiles(inputDir, ".jfr");
+        if (!recordings.isEmpty()) {
+            summary.hotspots = JfrHotspots.summarize(recordings, 15);
+        }
     }
 
     static void parseJUnitXmlIntoSummary(Path xmlFile, Summary summary) throws Exception {
@@ -144,14 +351,14 @@ public class ExecutiveSummaryReport {
 
         String rootName = root.getTagName();
         if ("testsuite".equalsIgnoreCase(rootName)) {
-            SuiteResult suite = parseSuite(root, xmlFile);
+            SuiteResult suite = parseSuite(root, xmlFile, summary);
             if (suite.tests > 0) summary.suites.add(suite);
         } else if ("testsuites".equalsIgnoreCase(rootName)) {
             NodeList suites = root.getElementsByTagName("testsuite");
             for (int i = 0; i < suites.getLength(); i++) {
                 Node n = suites.item(i);
                 if (n instanceof Element) {
-                    SuiteResult suite = parseSuite((Element) n, xmlFile);
+                    SuiteResult suite = parseSuite((Element) n, xmlFile, summary);
                     if (suite.tests > 0) summary.suites.add(suite);
                 }
             }
@@ -160,19 +367,20 @@ public class ExecutiveSummaryReport {
             for (int i = 0; i < suites.getLength(); i++) {
                 Node n = suites.item(i);
                 if (n instanceof Element) {
-                    SuiteResult suite = parseSuite((Element) n, xmlFile);
+                    SuiteResult suite = parseSuite((Element) n, xmlFile, summary);
                     if (suite.tests > 0) summary.suites.add(suite);
                 }
             }
         }
     }
 
-    static SuiteResult parseSuite(Element suiteEl, Path xmlFile) {
+    static SuiteResult parseSuite(Element suiteEl, Path xmlFile, Summary summary) throws IOException {
         SuiteResult suite = new SuiteResult();
 
         String name = attr(suiteEl, "name");
         if (name.isBlank()) name = xmlFile.getFileName().toString();
-        suite.displayName = name;
+        suite.displayName = summary.intern(name);
+        String source = summary.intern(xmlFile.toString());
 
         suite.tests = intAttr(suiteEl, "tests");
         int failures = intAttr(suiteEl, "failures");
@@ -190,7 +398,7 @@ public class ExecutiveSummaryReport {
             Element tc = (Element) n;
 
             String tcName = attr(tc, "name");
-            String cls = attr(tc, "classname");
+            String cls = summary.intern(attr(tc, "classname"));
             double t = doubleAttr(tc, "time");
 
             Status status = Status.PASS;
@@ -215,24 +423,190 @@ public class ExecutiveSummaryReport {
                 details = text(error);
             }
 
-            suite.cases.add(new TestCaseResult(
+            TestCaseResult c = new TestCaseResult(
                     tcName, cls, t, status,
                     trimOneLine(msg, 160),
-                    trim(details, 1200),
-                    xmlFile.toString()
-            ));
+                    source
+            );
+            c.detailsRef = summary.details.put(trim(details, 1200));
+            if (status == Status.FAIL && (timedOut(msg, null) || timedOut(details, null))) c.status = Status.TIMEOUT;
+            if (isFailure(c.status)) c.failedStep = summary.intern(FailureClusters.failedStep(details));
+            suite.cases.add(c);
         }
 
         suite.passed = Math.max(0, suite.tests - suite.failed - suite.skipped);
         return suite;
     }
 
+    static void parseThrottleStats(Path file, Summary summary) throws IOException {
+        Properties p = new Properties();
+        try (InputStream is = Files.newInputStream(file)) {
+            p.load(is);
+        }
+        for (String key : p.stringPropertyNames()) {
+            if (!key.endsWith(".calls")) continue;
+            String svc = key.substring(0, key.length() - ".calls".length());
+
+            ThrottleStats t = summary.throttling.computeIfAbsent(svc, k -> new ThrottleStats());
+            t.service = svc;
+            t.maxRps = Math.max(t.maxRps, parseDouble(p.getProperty(svc + ".maxRps")));
+            t.maxConcurrency = Math.max(t.maxConcurrency, (int) parseLong(p.getProperty(svc + ".maxConcurrency")));
+            t.calls += parseLong(p.getProperty(svc + ".calls"));
+            t.throttledCalls += parseLong(p.getProperty(svc + ".throttledCalls"));
+            t.waitMs += parseLong(p.getProperty(svc + ".waitMs"));
+            t.peakInFlight = Math.max(t.peakInFlight, (int) parseLong(p.getProperty(svc + ".peakInFlight")));
+            t.rateLimited429 += parseLong(p.getProperty(svc + ".rateLimited429"));
+        }
+    }
+
+    static void parseMemoStats(Path file, Summary summary) throws IOException {
+        Properties p = new Properties();
+        try (InputStream is = Files.newInputStream(file)) {
+            p.load(is);
+        }
+        MemoStats m = summary.memo != null ? summary.memo : (summary.memo = new MemoStats());
+        m.fetches += parseLong(p.getProperty("fetches"));
+        m.hits += parseLong(p.getProperty("hits"));
+        m.sharedInFlight += parseLong(p.getProperty("sharedInFlight"));
+        m.evictions += parseLong(p.getProperty("evictions"));
+        m.bytesSaved += parseLong(p.getProperty("bytesSaved"));
+        m.maxEntries = Math.max(m.maxEntries, (int) parseLong(p.getProperty("maxEntries")));
+    }
+
+    static void parseConcurrencyStats(Path inputDir, Path file, Summary summary) throws IOException {
+        Properties p = new Properties();
+        try (InputStream is = Files.newInputStream(file)) {
+            p.load(is);
+        }
+        ConcurrencyStats c = new ConcurrencyStats();
+        c.source = sourceOf(inputDir, file);
+        c.start = (int) parseLong(p.getProperty("start"));
+        c.max = (int) parseLong(p.getProperty("max"));
+        c.finalLimit = (int) parseLong(p.getProperty("final"));
+        c.peakRunning = (int) parseLong(p.getProperty("peakRunning"));
+        c.timeWeighted = parseDouble(p.getProperty("timeWeighted"));
+        c.increases = (int) parseLong(p.getProperty("increases"));
+        c.decreases = (int) parseLong(p.getProperty("decreases"));
+        c.gateWaitMs = parseLong(p.getProperty("gateWaitMs"));
+        List<String> keys = new ArrayList<>();
+        for (String key : p.stringPropertyNames()) {
+            if (key.startsWith("window.")) keys.add(key);
+        }
+        Collections.sort(keys);
+        for (String key : keys) {
+            String[] parts = p.getProperty(key).split("\\|", -1);
+            if (parts.length == 8) c.windows.add(parts);
+        }
+        summary.concurrency.add(c);
+    }
+
+    static void attachScenarioLogs(Path inputDir, Summary summary) throws IOException {
+        Map<String, Path> logs = new HashMap<>();
+        for (Path idx : findFiles(inputDir, "index.properties")) {
+            if (idx.getParent() == null || !"scenario-logs".equals(idx.getParent().getFileName().toString())) continue;
+            Properties p = new Properties();
+            try (InputStream is = Files.newInputStream(idx)) {
+                p.load(is);
+            }
+            for (String key : p.stringPropertyNames()) {
+                logs.put(key, idx.getParent().resolve(p.getProperty(key)));
+            }
+        }
+        if (logs.isEmpty()) return;
+
+        for (SuiteResult suite : summary.suites) {
+            for (TestCaseResult c : suite.cases) {
+                Path log = logs.get(safe(c.classname) + "|" + stripRefId(c.name));
+                if (log != null && Files.exists(log)) {
+                    c.logFile = log;
+                }
+            }
+        }
+    }
+
+    // Side-file location relative to the report root, e.g. smoke/dev/dummyjson
+    static String sourceOf(Path inputDir, Path file) {
+        Path parent = file.getParent();
+        return parent == null || parent.equals(inputDir) ? "(run)" : inputDir.relativize(parent).toString().replace('\\', '/');
+    }
+
+    static void markTimeouts(Path inputDir, Summary summary) throws IOException {
+        Set<String> keys = new HashSet<>();
+        for (Path f : findFiles(inputDir, "deadlines.properties")) {
+            Properties p = new Properties();
+            try (InputStream is = Files.newInputStream(f)) {
+                p.load(is);
+            }
+            for (String key : p.stringPropertyNames()) {
+                if (key.startsWith("scenario.")) keys.add(key.substring("scenario.".length()));
+            }
+        }
+        if (keys.isEmpty()) return;
+
+        for (SuiteResult suite : summary.suites) {
+            for (TestCaseResult c : suite.cases) {
+                if (c.status == Status.FAIL && keys.contains(safe(c.classname) + "|" + stripRefId(c.name))) {
+                    c.status = Status.TIMEOUT;
+                }
+            }
+        }
+    }
+
+    static boolean isFailure(Status status) {
+        return status == Status.FAIL || status == Status.TIMEOUT;
+    }
+
+    // Deadline failures carry TIMEOUT_MARKER in the message or somewhere in the cause chain
+    static boolean timedOut(String text, Throwable error) {
+        if (text != null && text.contains(TIMEOUT_MARKER)) return true;
+        for (Throwable t = error; t != null && t.getCause() != t; t = t.getCause()) {
+            if (t.getMessage() != null && t.getMessage().contains(TIMEOUT_MARKER)) return true;
+        }
+        return false;
+    }
+
+    static String readTailQuietly(Path file, int maxChars) {
+        try {
+            return readTail(file, maxChars);
+        } catch (IOException e) {
+            return "";
+        }
+    }
+
+    static String readTail(Path file, int maxChars) throws IOException {
+        try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "r")) {
+            long len = raf.length();
+            long start = Math.max(0, len - maxChars);
+            byte[] buf = new byte[(int) (len - start)];
+            raf.seek(start);
+            raf.readFully(buf);
+            String tail = new String(buf, StandardCharsets.UTF_8);
+            // Start at a line boundary when truncated
+            int nl = start > 0 ? tail.indexOf('\n') : -1;
+            return nl >= 0 ? tail.substring(nl + 1) : tail;
+        }
+    }
+
+    // Karate names test cases "[1:9] Scenario name"
+    static String stripRefId(String name) {
+        String x = safe(name).trim();
+        if (x.startsWith("[")) {
+            int end = x.indexOf("] ");
+            if (end > 0) return x.substring(end + 2).trim();
+        }
+        return x;
+    }
+
     // ------------ HTML Builder (Mood #1) ------------
-    static String buildHtml(Summary s, Path inputDir, Path outputFile) {
+    // Streams to out: large runs are flushed in ~1M-char chunks instead of one giant String
+    static void writeHtml(Summary s, Path inputDir, Path outputFile, Writer out) throws IOException {
         String generated = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss"));
         String statusLabel = statusLabel(s);
         String statusDotClass = statusDotClass(s);
-        String duration = formatDuration(s.timeSec);
+        // Runner wall clock when known; the sum of feature times overstates parallel runs
+        double wallSec = 0;
+        for (RunStats r : s.runs) wallSec = Math.max(wallSec, r.num("wallMs") / 1000.0);
+        String duration = formatDuration(wallSec > 0 ? wallSec : s.timeSec);
 
         String karateLink = "";
         if (s.karateSummaryHtml != null && Files.exists(s.karateSummaryHtml)) {
@@ -273,9 +647,12 @@ public class ExecutiveSummaryReport {
         sb.append("<div class=\"grid cards\">");
         sb.append(card("Total", String.valueOf(s.totalTests), "Scenarios executed"));
         sb.append(card("Passed", String.valueOf(s.passed), percentHint(s.passed, s.totalTests)));
-        sb.append(card("Failed", String.valueOf(s.failed), s.failed > 0 ? percentHint(s.failed, s.totalTests)+" - Needs attention" : "No failures"));
+        sb.append(card("Failed", String.valueOf(s.failed), s.failed == 0 ? "No failures"
+                : percentHint(s.failed, s.totalTests) + (s.timedOut > 0 ? " - " + s.timedOut + " timed out" : " - Needs attention")));
         sb.append(card("Skipped", String.valueOf(s.skipped), s.skipped > 0 ? percentHint(s.skipped, s.totalTests)+" - Filtered or conditional" : "None"));
-        sb.append(card("Duration", duration, "Wall clock (approx.)"));
+        sb.append(card("Duration", duration, wallSec > 0
+                ? "Wall clock - " + formatDuration(s.timeSec) + " of feature time"
+                : "Sum of feature times (no run metrics)"));
         sb.append("</div>");
 
         // Evidence
@@ -285,6 +662,8 @@ public class ExecutiveSummaryReport {
             sb.append("<div class=\"pill info\"><span class=\"dot\"></span>")
                     .append("<a href=\"").append(escAttr(karateLink)).append("\">Open Karate HTML summary</a>")
                     .append("</div>");
+            sb.append("<p class=\"muted\">Archived builds: open this page through <code>report.ReportBundle serve</code> ")
+                    .append("on the report bundle so links into karate-reports resolve.</p>");
         } else {
             sb.append("<p class=\"muted\">Karate summary not found (expected: karate-summary.html under ")
                     .append(esc(inputDir.toString()))
@@ -339,6 +718,40 @@ public class ExecutiveSummaryReport {
         }
         sb.append("</tbody></table>");
 
+        // Failure clusters (same normalized message + failing step)
+        if (!s.clusters.isEmpty()) {
+            sb.append("<h2>Failure Clusters</h2>");
+            sb.append("<table><thead><tr>")
+                    .append("<th>#</th>")
+                    .append("<th>Count</th>")
+                    .append("<th>Signature</th>")
+                    .append("<th>Failing step</th>")
+                    .append("<th>Features</th>")
+                    .append("<th>Examples</th>")
+                    .append("</tr></thead><tbody>");
+            int shown = Math.min(MAX_CLUSTERS, s.clusters.size());
+            for (int i = 0; i < shown; i++) {
+                FailureClusters.Cluster cl = s.clusters.get(i);
+                sb.append("<tr id=\"cluster-").append(cl.id).append("\">")
+                        .append("<td class=\"muted\">").append(cl.id).append("</td>")
+                        .append("<td>").append(cl.count).append(" (").append(esc(percentHint(cl.count, s.failedCount))).append(")</td>")
+                        .append("<td>").append(esc(firstNonBlank(cl.signature, "(no message)"))).append("</td>")
+                        .append("<td class=\"muted\">").append(esc(firstNonBlank(cl.step, "-"))).append("</td>")
+                        .append("<td class=\"muted\">").append(esc(String.join(", ", cl.features)))
+                        .append(cl.features.size() >= 20 ? ", \u2026" : "").append("</td>")
+                        .append("<td>");
+                for (TestCaseResult c : cl.exemplars) {
+                    sb.append("<div>").append(esc(c.name)).append("</div>");
+                }
+                sb.append("</td></tr>");
+            }
+            sb.append("</tbody></table>");
+            sb.append("<div class=\"footer\">Showing ").append(shown).append(" of ").append(s.clusters.size())
+                    .append(" clusters covering ").append(s.failedCount).append(" failing scenarios")
+                    .append(shown < s.clusters.size() ? " (failures of the others keep their details in Scenario Results)" : "")
+                    .append("</div>");
+        }
+
         // Top failures
         sb.append("<h2>Top Failures</h2>");
         if (s.failedCases.isEmpty()) {
@@ -351,7 +764,7 @@ public class ExecutiveSummaryReport {
                     .append("<th>Time</th>")
                     .append("</tr></thead><tbody>");
 
-            int limit = Math.min(20, s.failedCases.size());
+            int limit = s.failedCases.size();
             for (int i = 0; i < limit; i++) {
                 TestCaseResult c = s.failedCases.get(i);
                 sb.append("<tr>")
@@ -362,7 +775,185 @@ public class ExecutiveSummaryReport {
                         .append("</tr>");
             }
             sb.append("</tbody></table>");
-            sb.append("<div class=\"footer\">Showing ").append(limit).append(" of ").append(s.failedCases.size()).append(" failing scenarios</div>");
+            sb.append("<div class=\"footer\">Showing ").append(limit).append(" slowest of ").append(s.failedCount).append(" failing scenarios</div>");
+        }
+
+        // Resources: where the run spent its time (only when the runner wrote run metrics)
+        for (RunStats r : s.runs) {
+            sb.append("<h2>Resources</h2>");
+            sb.append("<div class=\"card\"><p>").append(esc(bottleneck(r))).append("</p></div>");
+            sb.append("<table><thead><tr><th>Metric</th><th>Value</th></tr></thead><tbody>");
+            resourceRow(sb, "Run", r.source);
+            resourceRow(sb, "Wall clock", formatMillis(r.num("wallMs")));
+            resourceRow(sb, "Effective parallelism", String.format(Locale.US, "%.2f of %s (%.0f%% utilization, %.2f running on average)",
+                    r.num("effectiveParallelism"), capacityLabel(r), r.num("utilization") * 100, r.num("runningAvg")));
+            resourceRow(sb, "Throughput", String.format(Locale.US, "%.2f scenarios/s, %.2f HTTP requests/s (%d requests)",
+                    r.num("scenariosPerSec"), r.num("httpPerSec"), (long) r.num("httpRequests")));
+            resourceRow(sb, "Time in HTTP", String.format(Locale.US, "%s (%.0f%% of scenario time)",
+                    formatMillis(r.num("httpMs")), r.num("httpShareOfBusy") * 100));
+            resourceRow(sb, "Bytes", "sent " + formatBytes((long) r.num("bytesSent")) + ", received " + formatBytes((long) r.num("bytesReceived")));
+            resourceRow(sb, "Process CPU", String.format(Locale.US, "%.0f%% avg, %.0f%% peak of %d cores",
+                    r.num("cpuAvg") * 100, r.num("cpuPeak") * 100, (int) r.num("cpus")));
+            resourceRow(sb, "GC", String.format(Locale.US, "%d collections, %s", (long) r.num("gcCount"), formatMillis(r.num("gcMs"))));
+            resourceRow(sb, "Heap", formatBytes((long) r.num("heapAvgBytes")) + " avg, " + formatBytes((long) r.num("heapPeakBytes"))
+                    + " peak, " + formatBytes((long) r.num("heapMaxBytes")) + " max");
+            resourceRow(sb, "JVM threads (peak)", String.valueOf((long) r.num("threadsPeak")));
+            sb.append("</tbody></table>");
+        }
+
+        // Chaos proxy: what was injected and what it did (timings above already include it)
+        if (!s.chaos.isEmpty()) {
+            sb.append("<h2>Chaos Proxy</h2>");
+            sb.append("<table><thead><tr>")
+                    .append("<th>Service</th>")
+                    .append("<th>Injected</th>")
+                    .append("<th>Requests</th>")
+                    .append("<th>Resets</th>")
+                    .append("<th>Injected errors</th>")
+                    .append("<th>Added latency (p50 / p95 / max)</th>")
+                    .append("<th>Upstream (avg)</th>")
+                    .append("<th>Bandwidth wait</th>")
+                    .append("</tr></thead><tbody>");
+            for (Properties c : s.chaos) {
+                int requests = (int) parseLong(c.getProperty("requests"));
+                sb.append("<tr>")
+                        .append("<td>").append(esc(c.getProperty("service"))).append("</td>")
+                        .append("<td class=\"muted\">").append(esc(c.getProperty("injected"))).append("</td>")
+                        .append("<td>").append(requests).append("</td>")
+                        .append("<td>").append(esc(c.getProperty("resets"))).append(" (").append(esc(percentHint((int) parseLong(c.getProperty("resets")), requests))).append(")</td>")
+                        .append("<td>").append(esc(c.getProperty("errors"))).append(" (").append(esc(percentHint((int) parseLong(c.getProperty("errors")), requests))).append(")</td>")
+                        .append("<td>").append(esc(formatMillis(parseLong(c.getProperty("injectedLatencyP50Ms"))))).append(" / ")
+                        .append(esc(formatMillis(parseLong(c.getProperty("injectedLatencyP95Ms"))))).append(" / ")
+                        .append(esc(formatMillis(parseLong(c.getProperty("injectedLatencyMaxMs"))))).append("</td>")
+                        .append("<td>").append(esc(formatMillis(parseLong(c.getProperty("upstreamAvgMs"))))).append("</td>")
+                        .append("<td>").append(esc(formatMillis(parseLong(c.getProperty("bandwidthWaitMs"))))).append("</td>")
+                        .append("</tr>");
+            }
+            sb.append("</tbody></table>");
+        }
+
+        // Client-side throttling (only for services with limits)
+        if (!s.throttling.isEmpty()) {
+            sb.append("<h2>Client Throttling</h2>");
+            sb.append("<table><thead><tr>")
+                    .append("<th>Service</th>")
+                    .append("<th>Limits</th>")
+                    .append("<th>Calls</th>")
+                    .append("<th>Throttled</th>")
+                    .append("<th>Wait (total)</th>")
+                    .append("<th>Wait (avg throttled)</th>")
+                    .append("<th>Peak in-flight</th>")
+                    .append("<th>HTTP 429</th>")
+                    .append("</tr></thead><tbody>");
+            for (ThrottleStats t : s.throttling.values()) {
+                String limits = (t.maxRps > 0 ? String.format(Locale.US, "%.0f rps", t.maxRps) : "- rps")
+                        + " / " + (t.maxConcurrency > 0 ? t.maxConcurrency + " conc." : "- conc.");
+                double avg = t.throttledCalls == 0 ? 0 : (double) t.waitMs / t.throttledCalls;
+                sb.append("<tr>")
+                        .append("<td>").append(esc(t.service)).append("</td>")
+                        .append("<td class=\"muted\">").append(esc(limits)).append("</td>")
+                        .append("<td>").append(t.calls).append("</td>")
+                        .append("<td>").append(t.throttledCalls).append(" (").append(esc(percentHint((int) t.throttledCalls, (int) t.calls))).append(")</td>")
+                        .append("<td>").append(esc(formatMillis(t.waitMs))).append("</td>")
+                        .append("<td>").append(esc(formatMillis(avg))).append("</td>")
+                        .append("<td>").append(t.peakInFlight).append("</td>")
+                        .append("<td>").append(t.rateLimited429).append("</td>")
+                        .append("</tr>");
+            }
+            sb.append("</tbody></table>");
+        }
+
+        // Adaptive concurrency (only with -Dthreads=auto)
+        for (ConcurrencyStats c : s.concurrency) {
+            sb.append("<h2>Adaptive Concurrency</h2>");
+            sb.append("<table><thead><tr>")
+                    .append("<th>Run</th>")
+                    .append("<th>Start / max</th>")
+                    .append("<th>Final</th>")
+                    .append("<th>Time-weighted</th>")
+                    .append("<th>Peak running</th>")
+                    .append("<th>Up / down</th>")
+                    .append("<th>Slot wait (total)</th>")
+                    .append("</tr></thead><tbody><tr>")
+                    .append("<td class=\"muted\">").append(esc(c.source)).append("</td>")
+                    .append("<td>").append(c.start).append(" / ").append(c.max).append("</td>")
+                    .append("<td>").append(c.finalLimit).append("</td>")
+                    .append("<td>").append(esc(String.format(Locale.US, "%.2f", c.timeWeighted))).append("</td>")
+                    .append("<td>").append(c.peakRunning).append("</td>")
+                    .append("<td>+").append(c.increases).append(" / -").append(c.decreases).append("</td>")
+                    .append("<td>").append(esc(formatMillis(c.gateWaitMs))).append("</td>")
+                    .append("</tr></tbody></table>");
+            if (!c.windows.isEmpty()) {
+                sb.append("<details class=\"mini\"><summary>Controller windows (").append(c.windows.size()).append(")</summary>");
+                sb.append("<table><thead><tr>")
+                        .append("<th>At</th>")
+                        .append("<th>Limit</th>")
+                        .append("<th>Scenarios/s</th>")
+                        .append("<th>HTTP latency</th>")
+                        .append("<th>HTTP errors</th>")
+                        .append("<th>Failed</th>")
+                        .append("<th>Decision</th>")
+                        .append("</tr></thead><tbody>");
+                for (String[] w : c.windows) {
+                    sb.append("<tr>")
+                            .append("<td>").append(esc(w[0])).append("</td>")
+                            .append("<td>").append(esc(w[1])).append(" &rarr; ").append(esc(w[2])).append("</td>")
+                            .append("<td>").append(esc(w[3])).append("</td>")
+                            .append("<td>").append(esc(w[4])).append(" ms</td>")
+                            .append("<td>").append(esc(w[5])).append("%</td>")
+                            .append("<td>").append(esc(w[6])).append("</td>")
+                            .append("<td>").append(esc(w[7])).append("</td>")
+                            .append("</tr>");
+                }
+                sb.append("</tbody></table></details>");
+            }
+        }
+
+        // @memo response memoization (only when memoized GETs ran)
+        if (s.memo != null) {
+            MemoStats m = s.memo;
+            long served = m.fetches + m.hits + m.sharedInFlight;
+            sb.append("<h2>Response Memoization (@memo)</h2>");
+            sb.append("<table><thead><tr>")
+                    .append("<th>GETs</th>")
+                    .append("<th>Fetched</th>")
+                    .append("<th>Cache hits</th>")
+                    .append("<th>Shared in-flight</th>")
+                    .append("<th>Evictions (max ").append(m.maxEntries).append(")</th>")
+                    .append("<th>Body bytes not re-fetched</th>")
+                    .append("</tr></thead><tbody><tr>")
+                    .append("<td>").append(served).append("</td>")
+                    .append("<td>").append(m.fetches).append("</td>")
+                    .append("<td>").append(m.hits).append(" (").append(esc(percentHint((int) m.hits, (int) served))).append(")</td>")
+                    .append("<td>").append(m.sharedInFlight).append("</td>")
+                    .append("<td>").append(m.evictions).append("</td>")
+                    .append("<td>").append(m.bytesSaved).append("</td>")
+                    .append("</tr></tbody></table>");
+        }
+
+        // Hotspots (only when a JFR recording exists)
+        if (!s.hotspots.isEmpty()) {
+            sb.append("<h2>Hotspots (JFR)</h2>");
+            sb.append("<table><thead><tr>")
+                    .append("<th>Kind</th>")
+                    .append("<th>Name</th>")
+                    .append("<th>Count</th>")
+                    .append("<th>Total</th>")
+                    .append("<th>Avg</th>")
+                    .append("<th>Max</th>")
+                    .append("</tr></thead><tbody>");
+            for (JfrHotspots.Hotspot h : s.hotspots) {
+                sb.append("<tr>")
+                        .append("<td class=\"muted\">").append(esc(h.kind)).append("</td>")
+                        .append("<td>").append(esc(h.name)).append("</td>")
+                        .append("<td>").append(h.count).append("</td>")
+                        .append("<td>").append(esc(formatMillis(h.totalMs))).append("</td>")
+                        .append("<td>").append(esc(formatMillis(h.avgMs()))).append("</td>")
+                        .append("<td>").append(esc(formatMillis(h.maxMs))).append("</td>")
+                        .append("</tr>");
+            }
+            sb.append("</tbody></table>");
+            sb.append("<div class=\"footer\">Top ").append(s.hotspots.size()).append(" by total time from karate-profile.jfr</div>");
         }
 
         // ✅ Scenario Results (NEW)
@@ -371,6 +962,7 @@ public class ExecutiveSummaryReport {
                 .append("<div class=\"btn-group\">")
                 .append("<button class=\"btn\" data-filter=\"ALL\">All</button>")
                 .append("<button class=\"btn\" data-filter=\"FAIL\">Failed</button>")
+                .append("<button class=\"btn\" data-filter=\"TIMEOUT\">Timed out</button>")
                 .append("<button class=\"btn\" data-filter=\"PASS\">Passed</button>")
                 .append("<button class=\"btn\" data-filter=\"SKIP\">Skipped</button>")
                 .append("</div>")
@@ -411,6 +1003,7 @@ public class ExecutiveSummaryReport {
                     .append("<span class=\"pill ").append(suitePill).append("\">").append(esc(suiteStatus)).append("</span>")
                     .append("<span class=\"meta\">").append("P ").append(suite.passed).append("</span>")
                     .append("<span class=\"meta\">").append("F ").append(suite.failed).append("</span>")
+                    .append(suite.timedOut > 0 ? "<span class=\"meta\">T " + suite.timedOut + "</span>" : "")
                     .append("<span class=\"meta\">").append("S ").append(suite.skipped).append("</span>")
                     .append("<span class=\"meta\">").append(esc(formatDuration(suite.timeSec))).append("</span>")
                     .append("</span>")
@@ -427,11 +1020,12 @@ public class ExecutiveSummaryReport {
             for (TestCaseResult c : suite.cases) {
                 String st = switch (c.status) {
                     case FAIL -> "FAIL";
+                    case TIMEOUT -> "TIMEOUT";
                     case SKIP -> "SKIP";
                     default -> "PASS";
                 };
                 String stClass = switch (c.status) {
-                    case FAIL -> "bad";
+                    case FAIL, TIMEOUT -> "bad";
                     case SKIP -> "warn";
                     default -> "ok";
                 };
@@ -444,19 +1038,43 @@ public class ExecutiveSummaryReport {
                         .append("<td>").append(esc(formatDuration(c.timeSec))).append("</td>")
                         .append("<td>");
 
-                if (c.status == Status.FAIL) {
+                if (isFailure(c.status)) {
                     sb.append("<div class=\"reason\">").append(esc(firstNonBlank(c.message, "(no message)"))).append("</div>");
-                    if (c.details != null && !c.details.isBlank()) {
-                        sb.append("<details class=\"mini\">")
-                                .append("<summary>Details</summary>")
-                                .append("<pre class=\"details\">").append(esc(c.details)).append("</pre>")
-                                .append("</details>");
+                    // Clusters past MAX_CLUSTERS have no row in the clusters table: keep their details inline
+                    if (c.exemplar || c.clusterId < 0 || c.clusterId > MAX_CLUSTERS) {
+                        String details = s.details.get(c.detailsRef);
+                        if (!details.isBlank()) {
+                            sb.append("<details class=\"mini\">")
+                                    .append("<summary>Details</summary>")
+                                    .append("<pre class=\"details\">").append(esc(details)).append("</pre>")
+                                    .append("</details>");
+                        }
+                        String logTail = c.logFile == null ? "" : readTailQuietly(c.logFile, 4000);
+                        if (!logTail.isBlank()) {
+                            sb.append("<details class=\"mini\">")
+                                    .append("<summary>Log (tail)</summary>")
+                                    .append("<pre class=\"details\">").append(esc(logTail)).append("</pre>")
+                                    .append("</details>");
+                        }
+                    } else {
+                        // Details live with the cluster's exemplars
+                        sb.append("<div class=\"log-link\"><a href=\"#cluster-").append(c.clusterId).append("\">Same failure as cluster #")
+                                .append(c.clusterId).append("</a></div>");
+                    }
+                    if (c.logFile != null) {
+                        sb.append("<div class=\"log-link\"><a href=\"")
+                                .append(escAttr(toRelativeHref(outputFile.getParent(), c.logFile)))
+                                .append("\">Scenario log</a></div>");
                     }
                 } else {
                     sb.append("<span class=\"muted\">—</span>");
                 }
 
                 sb.append("</td></tr>");
+                if (sb.length() > HTML_FLUSH_CHARS) {
+                    out.append(sb);
+                    sb.setLength(0);
+                }
             }
 
             sb.append("</tbody></table>");
@@ -472,7 +1090,7 @@ public class ExecutiveSummaryReport {
                 .append("\n</script>\n");
 
         sb.append("\n</body>\n</html>");
-        return sb.toString();
+        out.append(sb);
     }
 
     static String card(String label, String value, String hint) {
@@ -550,6 +1168,16 @@ public class ExecutiveSummaryReport {
         try { return Double.parseDouble(v); } catch (Exception e) { return 0.0; }
     }
 
+    static long parseLong(String v) {
+        if (v == null || v.isBlank()) return 0;
+        try { return Long.parseLong(v.trim()); } catch (Exception e) { return (long) parseDouble(v); }
+    }
+
+    static double parseDouble(String v) {
+        if (v == null || v.isBlank()) return 0.0;
+        try { return Double.parseDouble(v.trim()); } catch (Exception e) { return 0.0; }
+    }
+
     static String text(Element el) {
         String t = el.getTextContent();
         return t == null ? "" : t.trim();
@@ -590,6 +1218,13 @@ public class ExecutiveSummaryReport {
         }
     }
 
+    static List<Path> findFiles(Path root, String suffix) throws IOException {
+        try (Stream<Path> s = Files.walk(root)) {
+            return s.filter(p -> p.getFileName().toString().toLowerCase(Locale.ROOT).endsWith(suffix))
+                    .collect(Collectors.toList());
+        }
+    }
+
     static void guessContextFromPath(Summary summary, Path inputRoot, Path actualPath) {
         Path rel;
         try {
@@ -626,6 +1261,50 @@ public class ExecutiveSummaryReport {
         return String.format("%02d:%02d", m, s);
     }
 
+    static String formatBytes(long bytes) {
+        if (bytes < 1024) return bytes + " B";
+        if (bytes < 1024 * 1024) return String.format(Locale.US, "%.1f KB", bytes / 1024.0);
+        if (bytes < 1024L * 1024 * 1024) return String.format(Locale.US, "%.1f MB", bytes / (1024.0 * 1024));
+        return String.format(Locale.US, "%.2f GB", bytes / (1024.0 * 1024 * 1024));
+    }
+
+    static void resourceRow(StringBuilder sb, String metric, String value) {
+        sb.append("<tr><td>").append(esc(metric)).append("</td><td>").append(esc(value)).append("</td></tr>");
+    }
+
+    // One-line reading of the run metrics: CPU, GC, network or scheduler
+    static String bottleneck(RunStats r) {
+        List<String> signs = new ArrayList<>();
+        double wallMs = Math.max(1, r.num("wallMs"));
+        if (r.num("cpuAvg") >= 0.8) {
+            signs.add(String.format(Locale.US, "CPU-bound: the process used %.0f%% of %d cores", r.num("cpuAvg") * 100, (int) r.num("cpus")));
+        }
+        if (r.num("gcMs") / wallMs >= 0.1) {
+            signs.add(String.format(Locale.US, "GC pressure: %.0f%% of wall clock in GC", 100 * r.num("gcMs") / wallMs));
+        }
+        if (r.num("httpShareOfBusy") >= 0.6) {
+            signs.add(String.format(Locale.US, "Network-bound: %.0f%% of scenario time waiting on HTTP", r.num("httpShareOfBusy") * 100));
+        }
+        if (r.num("poolSize") > 1 && r.num("utilization") < 0.5) {
+            signs.add(String.format(Locale.US, "Scheduler-bound: %.1f of %s busy on average (few or long features, gating, throttling)",
+                    r.num("effectiveParallelism"), capacityLabel(r)));
+        }
+        return signs.isEmpty() ? "No dominant bottleneck: CPU, GC, HTTP wait and thread use are all in range." : String.join(" | ", signs);
+    }
+
+    // Utilization denominator: the pool, or the average adaptive limit (-Dthreads=auto)
+    static String capacityLabel(RunStats r) {
+        if (r.num("adaptiveLimitAvg") > 0) {
+            return String.format(Locale.US, "%.1f allowed on average by -Dthreads=auto (pool %d)", r.num("adaptiveLimitAvg"), (int) r.num("poolSize"));
+        }
+        return String.format(Locale.US, "%d threads", (int) r.num("poolSize"));
+    }
+
+    static String formatMillis(double ms) {
+        if (ms < 1000) return String.format(Locale.US, "%.0f ms", ms);
+        return String.format(Locale.US, "%.2f s", ms / 1000.0);
+    }
+
     static String esc(String s) {
         if (s == null) return "";
         return s.replace("&", "&amp;")
@@ -982,6 +1661,11 @@ public class ExecutiveSummaryReport {
     color: rgba(37,99,235,.90);
   }
 
+  .log-link{
+    margin-top: 6px;
+    font-size: 12px;
+  }
+
   pre.details{
     white-space: pre-wrap;
     word-break: break-word;
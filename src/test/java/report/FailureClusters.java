@@ -0,0 +1,192 @@
+package report;
+
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import report.ExecutiveSummaryReport.TestCaseResult;
+
+// Groups failed cases by normalized failure signature so an environment outage shows up as a
+// handful of clusters instead of hundreds of rows.
+//   1) signature = failure message with URLs, UUIDs, timestamps, hex ids and numbers replaced by
+//      placeholders, plus the failing step; identical signatures share a slot (hash map, O(n))
+//   2) near-identical signatures (same step) are merged: 64-bit SimHash over word 2-shingles,
+//      LSH with 4 bands of 16 bits to find candidates, Hamming distance <= 3 to confirm
+final class FailureClusters {
+
+    static final int EXEMPLARS = 3;
+    static final int MAX_SIGNATURES = 10_000; // beyond this, new signatures share one overflow slot
+    static final int MAX_DISTANCE = 3;
+    static final String OVERFLOW = "(too many distinct failure signatures)";
+
+    private static final Pattern URL = Pattern.compile("(?i)\\b(?:https?|wss?)://[^\\s\"'<>)]+");
+    private static final Pattern UUID = Pattern.compile("(?i)\\b[0-9a-f]{8}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{12}\\b");
+    private static final Pattern TIMESTAMP = Pattern.compile(
+            "\\b\\d{4}-\\d{2}-\\d{2}(?:[T ]\\d{2}:\\d{2}(?::\\d{2}(?:[.,]\\d+)?)?(?:Z|[+-]\\d{2}:?\\d{2})?)?\\b");
+    private static final Pattern HEX_ID = Pattern.compile("(?i)\\b(?=[0-9a-f]*\\d)[0-9a-f]{12,}\\b");
+    private static final Pattern NUMBER = Pattern.compile("-?\\d+(?:\\.\\d+)?");
+    private static final Pattern SPACES = Pattern.compile("\\s+");
+    // Karate step log line in JUnit failure text: "* match response.id == 1 ........ failed"
+    private static final Pattern FAILED_STEP = Pattern.compile("(?m)^\\s*(.+?)\\s*\\.{3,}\\s*failed\\s*$");
+
+    static final class Cluster {
+        int id;
+        String signature;
+        String step;
+        int count;
+        final Set<String> features = new LinkedHashSet<>();
+        final List<TestCaseResult> exemplars = new ArrayList<>();
+        private int representative = -1;
+    }
+
+    // One slot per distinct (signature, step)
+    private final Map<String, Integer> slots = new HashMap<>();
+    private final List<String> signatures = new ArrayList<>();
+    private final List<String> steps = new ArrayList<>();
+    private int[] counts = new int[64];
+    private int[] clusterOfSlot;
+
+    // Returns the slot id; call build() once all failures are added
+    int add(TestCaseResult c) {
+        String step = ExecutiveSummaryReport.safe(c.failedStep);
+        String signature = normalize(c.message);
+        String key = signature + '\u0000' + step;
+
+        Integer slot = slots.get(key);
+        if (slot == null) {
+            if (signatures.size() >= MAX_SIGNATURES) {
+                key = OVERFLOW + '\u0000';
+                slot = slots.get(key);
+                if (slot == null) slot = newSlot(key, OVERFLOW, "");
+            } else {
+                slot = newSlot(key, signature, step);
+            }
+        }
+        counts[slot]++;
+        return slot;
+    }
+
+    private int newSlot(String key, String signature, String step) {
+        int slot = signatures.size();
+        slots.put(key, slot);
+        signatures.add(signature);
+        steps.add(step);
+        if (slot == counts.length) counts = Arrays.copyOf(counts, slot * 2);
+        return slot;
+    }
+
+    // Merges near-duplicate slots; clusters come back largest first, ids 1..n
+    List<Cluster> build() {
+        int n = signatures.size();
+        int[] parent = new int[n];
+        for (int i = 0; i < n; i++) parent[i] = i;
+
+        long[] hashes = new long[n];
+        for (int i = 0; i < n; i++) hashes[i] = simHash(signatures.get(i) + " " + steps.get(i));
+
+        // LSH: two near-identical hashes agree on at least one 16-bit band
+        for (int band = 0; band < 4; band++) {
+            Map<Long, List<Integer>> buckets = new HashMap<>();
+            for (int i = 0; i < n; i++) {
+                long bucket = ((long) band << 16) | ((hashes[i] >>> (band * 16)) & 0xFFFF);
+                buckets.computeIfAbsent(bucket, k -> new ArrayList<>()).add(i);
+            }
+            for (List<Integer> bucket : buckets.values()) {
+                for (int a = 0; a < bucket.size(); a++) {
+                    for (int b = a + 1; b < bucket.size(); b++) {
+                        int i = bucket.get(a);
+                        int j = bucket.get(b);
+                        if (find(parent, i) == find(parent, j)) continue;
+                        if (steps.get(i).equals(steps.get(j))
+                                && Long.bitCount(hashes[i] ^ hashes[j]) <= MAX_DISTANCE) {
+                            union(parent, i, j);
+                        }
+                    }
+                }
+            }
+        }
+
+        // Representative = the most frequent signature of each merged group
+        Map<Integer, Cluster> byRoot = new HashMap<>();
+        for (int i = 0; i < n; i++) {
+            int root = find(parent, i);
+            Cluster cl = byRoot.computeIfAbsent(root, r -> new Cluster());
+            if (cl.representative < 0 || counts[i] > counts[cl.representative]) {
+                cl.representative = i;
+                cl.signature = signatures.get(i);
+                cl.step = steps.get(i);
+            }
+            cl.count += counts[i];
+        }
+
+        List<Cluster> clusters = new ArrayList<>(byRoot.values());
+        clusters.sort(Comparator.comparingInt((Cluster c) -> c.count).reversed().thenComparing(c -> c.signature));
+        for (int i = 0; i < clusters.size(); i++) clusters.get(i).id = i + 1;
+        clusterOfSlot = new int[n];
+        for (int i = 0; i < n; i++) clusterOfSlot[i] = byRoot.get(find(parent, i)).id;
+        return clusters;
+    }
+
+    int clusterOf(int slot) {
+        return clusterOfSlot[slot];
+    }
+
+    // ------------ Signature ------------
+    static String normalize(String message) {
+        String x = ExecutiveSummaryReport.safe(message);
+        x = URL.matcher(x).replaceAll("<url>");
+        x = UUID.matcher(x).replaceAll("<uuid>");
+        x = TIMESTAMP.matcher(x).replaceAll("<ts>");
+        x = HEX_ID.matcher(x).replaceAll("<id>");
+        x = NUMBER.matcher(x).replaceAll("<n>");
+        return SPACES.matcher(x).replaceAll(" ").trim();
+    }
+
+    static String failedStep(String details) {
+        if (details == null || details.isEmpty()) return "";
+        Matcher m = FAILED_STEP.matcher(details);
+        return m.find() ? m.group(1).trim() : "";
+    }
+
+    static long simHash(String text) {
+        String[] words = text.toLowerCase(Locale.ROOT).split("[^a-z0-9<>_#$.]+");
+        int[] weights = new int[64];
+        String prev = "";
+        for (String w : words) {
+            if (w.isEmpty()) continue;
+            long h = fnv1a(prev + ' ' + w); // 2-shingle
+            for (int bit = 0; bit < 64; bit++) {
+                weights[bit] += ((h >>> bit) & 1) == 1 ? 1 : -1;
+            }
+            prev = w;
+        }
+        long hash = 0;
+        for (int bit = 0; bit < 64; bit++) {
+            if (weights[bit] > 0) hash |= 1L << bit;
+        }
+        return hash;
+    }
+
+    private static long fnv1a(String s) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < s.length(); i++) {
+            h ^= s.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        return h;
+    }
+
+    private static int find(int[] parent, int i) {
+        while (parent[i] != i) {
+            parent[i] = parent[parent[i]];
+            i = parent[i];
+        }
+        return i;
+    }
+
+    private static void union(int[] parent, int a, int b) {
+        int ra = find(parent, a);
+        int rb = find(parent, b);
+        if (ra != rb) parent[Math.max(ra, rb)] = Math.min(ra, rb);
+    }
+}
@@ -0,0 +1,75 @@
+package report;
+
+import org.junit.jupiter.api.Test;
+import report.ExecutiveSummaryReport.Status;
+import report.ExecutiveSummaryReport.TestCaseResult;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FailureClustersTest {
+
+    @Test
+    void normalizeReplacesVolatileTokens() {
+        assertEquals("GET <url> returned <n> for id <uuid> at <ts> (trace <id>)",
+                FailureClusters.normalize("GET https://dummyjson.com/users/42?x=1 returned 503 for id "
+                        + "3f2c1a9e-8b7d-4c6e-9f01-23456789abcd at 2026-10-19T11:55:06.123Z (trace 5f3e9a0c1b2d4e6f)"));
+        assertEquals("expected <n> but was <n>", FailureClusters.normalize("  expected  -1.5\n but was 200 "));
+        assertEquals("", FailureClusters.normalize(null));
+    }
+
+    @Test
+    void failedStepIsTakenFromKarateStepLog() {
+        assertEquals("* match response.id == 1",
+                FailureClusters.failedStep("* url baseUrl ...... passed\n* match response.id == 1 ........ failed\n"));
+        assertEquals("", FailureClusters.failedStep("no step log"));
+    }
+
+    @Test
+    void identicalSignaturesShareASlotAndStepsSplitThem() {
+        FailureClusters clusters = new FailureClusters();
+        int a = clusters.add(failure("status code was: 503, expected: 200, url: https://dummyjson.com/users/1", "Then status 200"));
+        int b = clusters.add(failure("status code was: 503, expected: 200, url: https://dummyjson.com/users/2", "Then status 200"));
+        int c = clusters.add(failure("status code was: 503, expected: 200, url: https://dummyjson.com/users/3", "Then status 201"));
+
+        assertEquals(a, b);
+        assertNotEquals(a, c);
+    }
+
+    @Test
+    void buildMergesNearDuplicatesAndOrdersLargestFirst() {
+        FailureClusters clusters = new FailureClusters();
+        String outage = "status code was: 503, expected: 200, response time in milliseconds was: 120, "
+                + "url: https://dummyjson.com/users, response: service unavailable upstream connect error";
+        int[] slots = new int[6];
+        for (int i = 0; i < 4; i++) slots[i] = clusters.add(failure(outage, "Then status 200"));
+        // Distinct signature, same words (punctuation only): merged into the outage cluster
+        slots[4] = clusters.add(failure(outage.replace("unavailable upstream", "unavailable: upstream"), "Then status 200"));
+        slots[5] = clusters.add(failure("path: $.email, actual: null, expected: '#string'", "* match response == schema"));
+
+        List<FailureClusters.Cluster> built = clusters.build();
+
+        assertEquals(2, built.size());
+        assertEquals(1, built.get(0).id);
+        assertEquals(5, built.get(0).count);
+        assertEquals(FailureClusters.normalize(outage), built.get(0).signature);
+        assertEquals(1, clusters.clusterOf(slots[4]));
+        assertEquals(2, clusters.clusterOf(slots[5]));
+    }
+
+    @Test
+    void simHashOfSimilarTextsIsClose() {
+        long a = FailureClusters.simHash("status code was <n> expected <n> url <url> response service unavailable upstream connect error");
+        long b = FailureClusters.simHash("status code was <n> expected <n> url <url> response service unavailable upstream connect error retry");
+        long c = FailureClusters.simHash("path $.email actual null expected #string");
+
+        assertTrue(Long.bitCount(a ^ b) < Long.bitCount(a ^ c));
+    }
+
+    private static TestCaseResult failure(String message, String step) {
+        TestCaseResult c = new TestCaseResult("scenario", "features.tests.users", 0.1, Status.FAIL, message, null);
+        c.failedStep = step;
+        return c;
+    }
+}
@@ -0,0 +1,77 @@
+package report;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+// Append-only spill file for long failure texts, so the report model keeps only an offset per case.
+// Records are [int length][UTF-8 bytes]; the file is created on first put and deleted on close
+// (owners use try-with-resources: no deleteOnExit, whose registry would grow in a long-lived JVM).
+final class FailureStore implements Closeable {
+
+    static final long NONE = -1;
+
+    private FileChannel channel;
+    private Path file;
+    private long size;
+
+    long put(String text) throws IOException {
+        if (text == null || text.isBlank()) return NONE;
+        if (channel == null) open();
+
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        ByteBuffer buf = ByteBuffer.allocate(4 + bytes.length);
+        buf.putInt(bytes.length).put(bytes).flip();
+
+        long ref = size;
+        while (buf.hasRemaining()) {
+            size += channel.write(buf, size);
+        }
+        return ref;
+    }
+
+    String get(long ref) {
+        if (ref == NONE || channel == null) return "";
+        try {
+            ByteBuffer len = ByteBuffer.allocate(4);
+            readFully(len, ref);
+            ByteBuffer bytes = ByteBuffer.allocate(len.flip().getInt());
+            readFully(bytes, ref + 4);
+            return new String(bytes.array(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            return "(details unavailable: " + e.getMessage() + ")";
+        }
+    }
+
+    long bytes() {
+        return size;
+    }
+
+    private void readFully(ByteBuffer buf, long position) throws IOException {
+        while (buf.hasRemaining()) {
+            int n = channel.read(buf, position + buf.position());
+            if (n < 0) throw new EOFException("truncated record at " + position);
+        }
+    }
+
+    private void open() throws IOException {
+        file = Files.createTempFile("executive-summary-", ".details");
+        channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+    }
+
+    @Override
+    public void close() {
+        if (channel == null) return;
+        try {
+            channel.close();
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            System.err.println("[FailureStore] Could not delete " + file + ": " + e.getMessage());
+        }
+        channel = null;
+    }
+}
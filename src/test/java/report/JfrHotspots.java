@@ -0,0 +1,62 @@
+package report;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.stream.Collectors;
+
+// Summarizes karate-profile.jfr recordings (see support.JfrProfiler) into a hotspot table.
+class JfrHotspots {
+
+    static class Hotspot {
+        String kind;   // Scenario / Step / HttpCall / Feature
+        String name;
+        long count;
+        double totalMs;
+        double maxMs;
+
+        double avgMs() {
+            return count == 0 ? 0 : totalMs / count;
+        }
+    }
+
+    static List<Hotspot> summarize(List<Path> recordings, int limit) throws IOException {
+        Map<String, Hotspot> byKey = new HashMap<>();
+
+        for (Path file : recordings) {
+            for (RecordedEvent e : RecordingFile.readAllEvents(file)) {
+                String type = e.getEventType().getName();
+                if (!type.startsWith("karate.") || "karate.Suite".equals(type)) continue;
+
+                String kind = type.substring("karate.".length());
+                String name = e.hasField("name") ? e.getString("name") : "";
+                if ("HttpCall".equals(kind)) name = normalizeUrl(name);
+
+                double ms = e.getDuration().toNanos() / 1_000_000.0;
+                Hotspot h = byKey.computeIfAbsent(kind + "|" + name, k -> new Hotspot());
+                h.kind = kind;
+                h.name = name;
+                h.count++;
+                h.totalMs += ms;
+                h.maxMs = Math.max(h.maxMs, ms);
+            }
+        }
+
+        return byKey.values().stream()
+                .sorted(Comparator.comparingDouble((Hotspot h) -> h.totalMs).reversed())
+                .limit(limit)
+                .collect(Collectors.toList());
+    }
+
+    // "GET https://dummyjson.com/users/12?x=1" -> "GET https://dummyjson.com/users/{n}"
+    static String normalizeUrl(String methodAndUrl) {
+        if (methodAndUrl == null) return "";
+        String x = methodAndUrl;
+        int q = x.indexOf('?');
+        if (q >= 0) x = x.substring(0, q);
+        return x.replaceAll("/\\d+(?=/|$)", "/{n}");
+    }
+}
@@ -0,0 +1,276 @@
+package report;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.*;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.security.MessageDigest;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+// Packs report trees (target/karate-reports, target/executive-summary) into a content-addressed,
+// gzip-compressed bundle:
+//   bundle.pack  concatenated gzip members, one per unique content (SHA-256)
+//   bundle.idx   "B<TAB>sha<TAB>offset<TAB>packedLength<TAB>rawLength" per blob
+//                "F<TAB>relativePath<TAB>sha" per file
+// Each input keeps its folder name (karate-reports/..., executive-summary/...), so the executive
+// summary's relative links into karate-reports resolve inside the bundle.
+// Identical files (Karate's static HTML assets, repeated per report dir) are stored once.
+// "serve" reads entries lazily by offset and streams the gzip member as-is to the browser.
+//
+// Usage:
+//   pack   <bundleDir> <inputDir>...   (missing inputs are skipped)
+//   serve  <bundleDir> [port]
+//   unpack <bundleDir> <outputDir>
+public class ReportBundle {
+
+    static final String PACK_FILE = "bundle.pack";
+    static final String INDEX_FILE = "bundle.idx";
+
+    static class Blob {
+        final long offset;
+        final long packedLength;
+        final long rawLength;
+
+        Blob(long offset, long packedLength, long rawLength) {
+            this.offset = offset;
+            this.packedLength = packedLength;
+            this.rawLength = rawLength;
+        }
+    }
+
+    static class Index {
+        final Map<String, Blob> blobs = new HashMap<>();          // sha -> blob
+        final Map<String, String> files = new LinkedHashMap<>();  // relative path -> sha
+    }
+
+    // ------------ Main ------------
+    public static void main(String[] args) throws Exception {
+        String mode = args != null && args.length > 0 ? args[0] : "pack";
+
+        switch (mode) {
+            case "pack" -> {
+                Path out = Paths.get(args.length > 1 ? args[1] : "target/report-bundle").normalize();
+                List<Path> inputs = new ArrayList<>();
+                for (int i = 2; i < args.length; i++) inputs.add(Paths.get(args[i]).normalize());
+                if (inputs.isEmpty()) {
+                    inputs = List.of(Paths.get("target/karate-reports"), Paths.get("target/executive-summary"));
+                }
+                pack(inputs, out);
+            }
+            case "serve" -> {
+                Path dir = Paths.get(args.length > 1 ? args[1] : "target/report-bundle").normalize();
+                int port = args.length > 2 ? Integer.parseInt(args[2]) : 8089;
+                serve(dir, port);
+            }
+            case "unpack" -> {
+                Path dir = Paths.get(args.length > 1 ? args[1] : "target/report-bundle").normalize();
+                Path out = Paths.get(args.length > 2 ? args[2] : "target/report-bundle-unpacked").normalize();
+                unpack(dir, out);
+            }
+            default -> throw new IllegalArgumentException("Unknown mode: " + mode + " (use pack | serve | unpack)");
+        }
+    }
+
+    // ------------ Pack ------------
+    // Returns false (and writes nothing) when none of the inputs exist, e.g. a build run with -DskipITs
+    static boolean pack(List<Path> inputDirs, Path bundleDir) throws Exception {
+        // Paths relative to each input's parent, so "karate-reports/..." and "executive-summary/..." sit side by side
+        Map<String, Path> files = new LinkedHashMap<>();
+        for (Path inputDir : inputDirs) {
+            if (!Files.isDirectory(inputDir)) {
+                System.out.println("[ReportBundle] Skipping missing input folder: " + inputDir.toAbsolutePath());
+                continue;
+            }
+            Path base = inputDir.toAbsolutePath().getParent();
+            try (Stream<Path> s = Files.walk(inputDir)) {
+                s.filter(Files::isRegularFile).sorted().forEach(f ->
+                        files.put(base.relativize(f.toAbsolutePath()).toString().replace('\\', '/'), f));
+            }
+        }
+        if (files.isEmpty()) {
+            System.out.println("[ReportBundle] Nothing to pack: " + bundleDir.toAbsolutePath());
+            return false;
+        }
+        Files.createDirectories(bundleDir);
+
+        Index index = new Index();
+        long rawTotal = 0;
+
+        try (OutputStream pack = new BufferedOutputStream(Files.newOutputStream(bundleDir.resolve(PACK_FILE)))) {
+            long offset = 0;
+            for (Map.Entry<String, Path> f : files.entrySet()) {
+                byte[] content = Files.readAllBytes(f.getValue());
+                rawTotal += content.length;
+
+                String sha = sha256(content);
+                index.files.put(f.getKey(), sha);
+
+                if (!index.blobs.containsKey(sha)) {
+                    byte[] packed = gzip(content);
+                    pack.write(packed);
+                    index.blobs.put(sha, new Blob(offset, packed.length, content.length));
+                    offset += packed.length;
+                }
+            }
+        }
+
+        writeIndex(bundleDir.resolve(INDEX_FILE), index);
+
+        long packedTotal = Files.size(bundleDir.resolve(PACK_FILE));
+        System.out.println("[ReportBundle] " + files.size() + " files, " + index.blobs.size() + " unique blobs, "
+                + rawTotal + " -> " + packedTotal + " bytes: " + bundleDir.toAbsolutePath());
+        return true;
+    }
+
+    static byte[] gzip(byte[] content) throws IOException {
+        ByteArrayOutputStream bos = new ByteArrayOutputStream(Math.max(64, content.length / 4));
+        try (GZIPOutputStream gz = new GZIPOutputStream(bos) {
+            { def.setLevel(Deflater.BEST_COMPRESSION); }
+        }) {
+            gz.write(content);
+        }
+        return bos.toByteArray();
+    }
+
+    static String sha256(byte[] content) throws Exception {
+        byte[] d = MessageDigest.getInstance("SHA-256").digest(content);
+        StringBuilder sb = new StringBuilder(64);
+        for (byte b : d) sb.append(String.format("%02x", b));
+        return sb.toString();
+    }
+
+    // ------------ Index file ------------
+    static void writeIndex(Path file, Index index) throws IOException {
+        try (BufferedWriter w = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            for (Map.Entry<String, Blob> e : index.blobs.entrySet()) {
+                Blob b = e.getValue();
+                w.write("B\t" + e.getKey() + "\t" + b.offset + "\t" + b.packedLength + "\t" + b.rawLength);
+                w.newLine();
+            }
+            for (Map.Entry<String, String> e : index.files.entrySet()) {
+                w.write("F\t" + e.getKey() + "\t" + e.getValue());
+                w.newLine();
+            }
+        }
+    }
+
+    static Index readIndex(Path file) throws IOException {
+        Index index = new Index();
+        for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+            String[] p = line.split("\t");
+            if (p.length == 5 && "B".equals(p[0])) {
+                index.blobs.put(p[1], new Blob(Long.parseLong(p[2]), Long.parseLong(p[3]), Long.parseLong(p[4])));
+            } else if (p.length == 3 && "F".equals(p[0])) {
+                index.files.put(p[1], p[2]);
+            }
+        }
+        return index;
+    }
+
+    static byte[] readPacked(RandomAccessFile pack, Blob blob) throws IOException {
+        byte[] buf = new byte[(int) blob.packedLength];
+        synchronized (pack) {
+            pack.seek(blob.offset);
+            pack.readFully(buf);
+        }
+        return buf;
+    }
+
+    static byte[] gunzip(byte[] packed) throws IOException {
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(packed))) {
+            return in.readAllBytes();
+        }
+    }
+
+    // ------------ Unpack ------------
+    static void unpack(Path bundleDir, Path outputDir) throws IOException {
+        Index index = readIndex(bundleDir.resolve(INDEX_FILE));
+        try (RandomAccessFile pack = new RandomAccessFile(bundleDir.resolve(PACK_FILE).toFile(), "r")) {
+            for (Map.Entry<String, String> e : index.files.entrySet()) {
+                Path target = outputDir.resolve(e.getKey()).normalize();
+                if (!target.startsWith(outputDir)) continue; // never write outside outputDir
+                ExecutiveSummaryReport.ensureParentDir(target);
+                Files.write(target, gunzip(readPacked(pack, index.blobs.get(e.getValue()))));
+            }
+        }
+        System.out.println("[ReportBundle] Unpacked " + index.files.size() + " files: " + outputDir.toAbsolutePath());
+    }
+
+    // ------------ Serve (lazy) ------------
+    static void serve(Path bundleDir, int port) throws IOException {
+        Index index = readIndex(bundleDir.resolve(INDEX_FILE));
+        RandomAccessFile pack = new RandomAccessFile(bundleDir.resolve(PACK_FILE).toFile(), "r");
+
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", port), 0);
+        server.createContext("/", exchange -> {
+            try (exchange) {
+                String path = URLDecoder.decode(exchange.getRequestURI().getPath(), StandardCharsets.UTF_8);
+                String rel = path.startsWith("/") ? path.substring(1) : path;
+
+                if (rel.isEmpty() || rel.endsWith("/")) {
+                    sendListing(exchange, index, rel);
+                    return;
+                }
+
+                String sha = index.files.get(rel);
+                if (sha == null) {
+                    exchange.sendResponseHeaders(404, -1);
+                    return;
+                }
+
+                byte[] packed = readPacked(pack, index.blobs.get(sha));
+                String acceptEncoding = Optional.ofNullable(exchange.getRequestHeaders().getFirst("Accept-Encoding")).orElse("");
+                exchange.getResponseHeaders().set("Content-Type", contentType(rel));
+
+                byte[] body;
+                if (acceptEncoding.contains("gzip")) {
+                    exchange.getResponseHeaders().set("Content-Encoding", "gzip");
+                    body = packed; // no decompression on the server
+                } else {
+                    body = gunzip(packed);
+                }
+                exchange.sendResponseHeaders(200, body.length);
+                exchange.getResponseBody().write(body);
+            }
+        });
+        server.start();
+        System.out.println("[ReportBundle] Serving " + index.files.size() + " files at http://127.0.0.1:" + port + "/");
+    }
+
+    static void sendListing(HttpExchange exchange, Index index, String prefix) throws IOException {
+        StringBuilder sb = new StringBuilder("<!doctype html><html><body><ul>");
+        for (String f : index.files.keySet()) {
+            if (!f.startsWith(prefix)) continue;
+            sb.append("<li><a href=\"/").append(ExecutiveSummaryReport.escAttr(f)).append("\">")
+                    .append(ExecutiveSummaryReport.esc(f)).append("</a></li>");
+        }
+        sb.append("</ul></body></html>");
+        byte[] body = sb.toString().getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "text/html; charset=utf-8");
+        exchange.sendResponseHeaders(200, body.length);
+        exchange.getResponseBody().write(body);
+    }
+
+    static String contentType(String path) {
+        String p = path.toLowerCase(Locale.ROOT);
+        if (p.endsWith(".html")) return "text/html; charset=utf-8";
+        if (p.endsWith(".css")) return "text/css";
+        if (p.endsWith(".js")) return "application/javascript";
+        if (p.endsWith(".json")) return "application/json";
+        if (p.endsWith(".xml")) return "application/xml";
+        if (p.endsWith(".svg")) return "image/svg+xml";
+        if (p.endsWith(".png")) return "image/png";
+        if (p.endsWith(".ico")) return "image/x-icon";
+        if (p.endsWith(".log") || p.endsWith(".txt")) return "text/plain; charset=utf-8";
+        return "application/octet-stream";
+    }
+}
@@ -0,0 +1,63 @@
+package report;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReportBundleTest {
+
+    @TempDir
+    Path tmp;
+
+    @Test
+    void packUnpackRoundTripKeepsEveryFileAndStoresDuplicatesOnce() throws Exception {
+        write("target/karate-reports/smoke/res/app.js", "var app = 1;");
+        write("target/karate-reports/contract/res/app.js", "var app = 1;");
+        write("target/karate-reports/smoke/karate-summary.html", "<html>smoke</html>");
+        write("target/karate-reports/smoke/scenario-logs/users_L12.log", "GET /users -> 500\n");
+        write("target/executive-summary/smoke/qa/dummyjson/index.html",
+                "<a href=\"../../../../karate-reports/smoke/karate-summary.html\">k</a>");
+        Path bundle = tmp.resolve("target/report-bundle");
+
+        assertTrue(ReportBundle.pack(List.of(tmp.resolve("target/karate-reports"), tmp.resolve("target/executive-summary")), bundle));
+
+        ReportBundle.Index index = ReportBundle.readIndex(bundle.resolve(ReportBundle.INDEX_FILE));
+        assertEquals(5, index.files.size());
+        assertEquals(4, index.blobs.size());
+        assertEquals(index.files.get("karate-reports/smoke/res/app.js"), index.files.get("karate-reports/contract/res/app.js"));
+
+        Path out = tmp.resolve("unpacked");
+        ReportBundle.unpack(bundle, out);
+        for (String rel : index.files.keySet()) {
+            assertArrayEquals(Files.readAllBytes(tmp.resolve("target").resolve(rel)), Files.readAllBytes(out.resolve(rel)), rel);
+        }
+        // The executive summary's relative link resolves inside the unpacked tree
+        assertTrue(Files.exists(out.resolve("executive-summary/smoke/qa/dummyjson")
+                .resolve("../../../../karate-reports/smoke/karate-summary.html").normalize()));
+    }
+
+    @Test
+    void skipsMissingInputsAndWritesNothingWhenNoneExist() throws Exception {
+        Path bundle = tmp.resolve("target/report-bundle");
+
+        assertFalse(ReportBundle.pack(List.of(tmp.resolve("target/karate-reports")), bundle));
+        assertFalse(Files.exists(bundle));
+
+        write("target/executive-summary/index.html", "<html/>");
+        assertTrue(ReportBundle.pack(List.of(tmp.resolve("target/karate-reports"), tmp.resolve("target/executive-summary")), bundle));
+        assertEquals(List.of("executive-summary/index.html"),
+                List.copyOf(ReportBundle.readIndex(bundle.resolve(ReportBundle.INDEX_FILE)).files.keySet()));
+    }
+
+    private void write(String rel, String content) throws Exception {
+        Path file = tmp.resolve(rel);
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, content, StandardCharsets.UTF_8);
+    }
+}
@@ -2,7 +2,25 @@ package runner;
 
 import com.intuit.karate.Results;
 import com.intuit.karate.Runner;
+import com.intuit.karate.http.HttpClientFactory;
+import report.ExecutiveSummaryReport;
+import support.AdaptiveConcurrency;
+import support.ChaosProxy;
+import support.DeadlineHttpClient;
+import support.Deadlines;
+import support.EnvConfig;
+import support.ExampleSource;
+import support.FeatureIndex;
+import support.JfrProfiler;
+import support.MemoHttpClient;
+import support.ResolvedConfig;
+import support.ResponseMemo;
+import support.RunMetrics;
+import support.ScenarioLogContext;
+import support.ServiceGovernor;
+import support.ThrottledHttpClient;
 
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -12,7 +30,7 @@ public abstract class BaseKarateRunner {
         String env = System.getProperty("karate.env", "dev").trim();
         String service = System.getProperty("service", "").trim();
         String extraExpr = System.getProperty("karate.tags", "").trim();
-        int threads = Integer.parseInt(System.getProperty("threads", "5"));
+        int threads = AdaptiveConcurrency.poolSize(); // -Dthreads=N, or -Dthreads=auto (pool of -Dthreads.max)
 
         // Enforce service always (align with karate-config fail fast)
         if (service.isEmpty()) {
@@ -21,24 +39,126 @@ public abstract class BaseKarateRunner {
             );
         }
 
-        List<String> tags = new ArrayList<>();
-        tags.add(suiteTag);            // e.g. @smoke
-        tags.add("@svc_" + service);   // e.g. @svc_dummyjson
+        // Optional chaos/latency proxy in front of the service (config/<env>.json > services > <service> > chaos);
+        // started first so the resolved baseUrl points at it. Everything after it may throw on bad config
+        // or properties: the proxy and the metrics sampler are released in the outer finally either way.
+        ChaosProxy chaos = ChaosProxy.startIfEnabled(EnvConfig.load(env), service);
+        RunMetrics metrics = null;
+        try {
+            // Resolve + validate config once, before any scenario starts (karate-config.js reuses it);
+            // re-resolved when config/<env>.json or the service's schema file changed since the last run
+            ResolvedConfig.reload();
 
-        // IMPORTANT: keep extra tag expression as a single expression string
-        // so users can use: "~@wip and ~@quarantine"
-        if (!extraExpr.isEmpty()) {
-            tags.add(extraExpr);
+            List<String> tags = new ArrayList<>();
+            tags.add(suiteTag);            // e.g. @smoke
+            tags.add("@svc_" + service);   // e.g. @svc_dummyjson
+
+            // IMPORTANT: keep extra tag expression as a single expression string
+            // so users can use: "~@wip and ~@quarantine"
+            if (!extraExpr.isEmpty()) {
+                tags.add(extraExpr);
+            }
+
+            String reportDir = "target/karate-reports/" + suiteName + "/" + env + "/" + service;
+
+            Runner.Builder builder = Runner.builder();
+
+            // Only hand Karate the features that can match suite + service (tag expression still applies)
+            FeatureIndex index = FeatureIndex.forClasspath();
+            List<String> features = index != null ? index.select(suiteTag, "@svc_" + service) : List.of();
+            selectFeatures(builder, features);
+
+            // Per-service maxRps / maxConcurrency from config/<env>.json, shared by all threads
+            List<ServiceGovernor> governors = ServiceGovernor.fromConfig(EnvConfig.load(env));
+            ServiceGovernor.activate(governors);
+            HttpClientFactory clientFactory = HttpClientFactory.DEFAULT;
+            if (!governors.isEmpty()) {
+                clientFactory = ThrottledHttpClient.factory(clientFactory, governors);
+            }
+
+            // @memo scenarios share identical GET responses for this run only (bounded LRU)
+            ResponseMemo memo = ResponseMemo.fromSystemProperties();
+            clientFactory = MemoHttpClient.factory(clientFactory, memo);
+
+            // -DscenarioTimeout / -DsuiteTimeout (seconds): cooperative deadlines on top of the per-service
+            // connect/read timeouts; the suite clock starts here
+            Deadlines deadlines = Deadlines.fromSystemProperties();
+            Deadlines.activate(deadlines);
+            if (deadlines != null) {
+                clientFactory = DeadlineHttpClient.factory(clientFactory, deadlines);
+            }
+            builder.clientFactory(clientFactory);
+
+            // -Dthreads=auto: AIMD controller picks how many scenarios of the pool run at once.
+            // First hook, so the time a scenario waits for a slot is not counted by the ones below.
+            AdaptiveConcurrency concurrency = AdaptiveConcurrency.fromSystemProperties();
+            if (concurrency != null) {
+                builder.hook(concurrency);
+            }
+
+            // Scenario deadline starts once the scenario holds a slot
+            if (deadlines != null) {
+                builder.hook(deadlines);
+            }
+
+            // Wall clock, effective parallelism, HTTP throughput, CPU/GC/heap samples (executive summary > Resources)
+            metrics = new RunMetrics(threads, concurrency);
+            builder.hook(metrics);
+
+            // Per-scenario in-memory logs, written only for failures (see logback-test.xml)
+            ScenarioLogContext scenarioLogs = new ScenarioLogContext(Paths.get(reportDir));
+            builder.hook(scenarioLogs);
+
+            // Lazy example sources: free a row slot when its generated scenario ends
+            builder.hook(new ExampleSource.Backpressure());
+
+            customize(builder);
+
+            // Optional JFR profiling: -Dprofile=jfr (last, so nothing can fail between start and stop)
+            JfrProfiler profiler = JfrProfiler.startIfEnabled(suiteName, env, service, threads, Paths.get(reportDir));
+            if (profiler != null) {
+                builder.hook(profiler);
+            }
+
+            Results results;
+            try {
+                results = builder
+                        .tags(tags.toArray(new String[0]))
+                        .reportDir(reportDir)
+                        .outputCucumberJson(true)
+                        .outputJunitXml(true)
+                        .parallel(threads);
+            } finally {
+                metrics.writeStats(Paths.get(reportDir));
+                scenarioLogs.writeIndex();
+                ServiceGovernor.writeStats(governors, Paths.get(reportDir));
+                memo.writeStats(Paths.get(reportDir));
+                if (concurrency != null) concurrency.writeStats(Paths.get(reportDir));
+                if (deadlines != null) deadlines.writeStats(Paths.get(reportDir));
+                if (chaos != null) chaos.writeStats(Paths.get(reportDir));
+                if (profiler != null) profiler.stop();
+            }
+
+            // Executive summary from the in-memory Results (side files above are already on disk)
+            ExecutiveSummaryReport.generate(results, suiteName, env, service, Paths.get(reportDir),
+                    Paths.get("target/executive-summary", suiteName, env, service, "index.html"));
+            return results;
+        } finally {
+            if (metrics != null) metrics.stop();
+            if (chaos != null) chaos.close();
         }
+    }
 
-        String reportDir = "target/karate-reports/" + suiteName + "/" + env + "/" + service;
+    // Indexed classpath paths, or the whole features tree when no index is available
+    protected void selectFeatures(Runner.Builder builder, List<String> features) {
+        if (features.isEmpty()) {
+            builder.path("classpath:features/tests");
+        } else {
+            builder.path(features);
+        }
+    }
 
-        return Runner.builder()
-                .path("classpath:features/tests")
-                .tags(tags.toArray(new String[0]))
-                .reportDir(reportDir)
-                .outputCucumberJson(true)
-                .outputJunitXml(true)
-                .parallel(threads);
+    // Extension point for long-lived runners (extra hooks, etc.)
+    protected void customize(Runner.Builder builder) {
     }
 }
@@ -0,0 +1,195 @@
+package runner;
+
+import com.intuit.karate.Results;
+import com.intuit.karate.Runner;
+import com.intuit.karate.RuntimeHook;
+import com.intuit.karate.core.ScenarioRuntime;
+import support.FeatureCache;
+
+import java.io.*;
+import java.lang.management.ManagementFactory;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Long-lived runner around runSuite: parsed features, config/schema caches, GraalJS and the JIT
+// stay warm between runs, so repeated smoke runs skip Maven + JVM startup. Cached features, config/<env>.json
+// and config/schemas/*.json are re-read when their file on the classpath changes (size/mtime).
+//
+// Start (once):
+//   mvn -q test-compile exec:java -Dexec.mainClass=runner.KarateDaemon -Dexec.classpathScope=test
+//   (optional -Ddaemon.port=7799)
+//
+// Run a suite (every key=value other than suite is a system property for that run; only the run settings in
+// ALLOWED are accepted, env/tags map to karate.env/karate.tags):
+//   java -cp target/test-classes runner.KarateDaemonClient suite=smoke env=dev service=dummyjson "tags=~@wip"
+//   java -cp target/test-classes runner.KarateDaemonClient stop
+//
+// Wire protocol (127.0.0.1 only): request lines "run" / "ping" / "stop", then key=value lines, then a blank line.
+// The daemon answers with "key=value" lines and a final "end"; a failed run is reported as status=error and the
+// daemon keeps serving. Runs are serialized (runSuite reads system properties).
+// Timings per run are appended to target/karate-daemon/runs.log.
+public class KarateDaemon extends BaseKarateRunner {
+
+    public static final int DEFAULT_PORT = 7799; // keep in sync with KarateDaemonClient
+    static final Path RUN_LOG = Paths.get("target/karate-daemon/runs.log");
+
+    private static final Map<String, String> ALIASES = Map.of(
+            "env", "karate.env",
+            "tags", "karate.tags"
+    );
+
+    // Run settings a client may pass; anything else (java.*, user.dir, ...) would leak into the warm JVM
+    static final Set<String> ALLOWED = Set.of(
+            "suite", "env", "tags", "service", "threads", "threads.start", "threads.max", "threads.maxErrorRate",
+            "threads.latencyTolerance", "retries", "retryInterval", "scenarioTimeout", "suiteTimeout",
+            "examplesInFlight", "memo.maxEntries", "memo.maxBytes", "metrics.sampleMs", "profile"
+    );
+
+    private final AtomicLong runs = new AtomicLong();
+    private volatile long firstScenarioNanos;
+
+    public static void main(String[] args) throws IOException {
+        int port = Integer.parseInt(System.getProperty("daemon.port", String.valueOf(DEFAULT_PORT)));
+        new KarateDaemon().serve(port);
+    }
+
+    // ------------ Server ------------
+    void serve(int port) throws IOException {
+        try (ServerSocket server = new ServerSocket(port, 8, InetAddress.getLoopbackAddress())) {
+            System.out.println("[KarateDaemon] listening on 127.0.0.1:" + port
+                    + " (jvm up " + ManagementFactory.getRuntimeMXBean().getUptime() + " ms)");
+            while (true) {
+                try (Socket socket = server.accept()) {
+                    BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+                    PrintWriter out = new PrintWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8), true);
+                    String command = in.readLine();
+                    Map<String, String> params = readParams(in);
+                    if ("stop".equals(command)) {
+                        out.println("status=stopping");
+                        out.println("end");
+                        return;
+                    }
+                    if ("ping".equals(command)) {
+                        out.println("status=ok");
+                        out.println("runs=" + runs.get());
+                    } else if ("run".equals(command)) {
+                        handleRun(params, out);
+                    } else {
+                        out.println("error=Unknown command '" + command + "' (expected run, ping or stop)");
+                    }
+                    out.println("end");
+                } catch (IOException e) {
+                    System.err.println("[KarateDaemon] Connection failed: " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    private void handleRun(Map<String, String> params, PrintWriter out) {
+        String suite = params.getOrDefault("suite", "").trim();
+        if (suite.isEmpty()) {
+            out.println("error=Missing suite. Example: suite=smoke service=dummyjson");
+            return;
+        }
+        Set<String> unknown = new TreeSet<>(params.keySet());
+        unknown.removeAll(ALLOWED);
+        if (!unknown.isEmpty()) {
+            out.println("error=Unsupported parameter(s) " + unknown + ". Allowed: " + new TreeSet<>(ALLOWED));
+            return;
+        }
+
+        long received = System.nanoTime();
+        long hitsBefore = FeatureCache.hits();
+        long missesBefore = FeatureCache.misses();
+        Properties saved = (Properties) System.getProperties().clone();
+        firstScenarioNanos = 0;
+        long run = runs.incrementAndGet();
+        try {
+            params.forEach((k, v) -> {
+                if (!"suite".equals(k)) System.setProperty(ALIASES.getOrDefault(k, k), v);
+            });
+            // runSuite reads service/env/threads/tags from system properties (daemon -D values apply unless overridden)
+            Results results = runSuite("@" + suite, suite);
+
+            long end = System.nanoTime();
+            long startupMs = firstScenarioNanos == 0 ? -1 : (firstScenarioNanos - received) / 1_000_000;
+            Map<String, Object> report = new LinkedHashMap<>();
+            report.put("status", results.getFailCount() == 0 ? "passed" : "failed");
+            report.put("run", run);
+            report.put("suite", suite);
+            report.put("scenarios", results.getScenariosTotal());
+            report.put("failed", results.getScenariosFailed());
+            report.put("startupMs", startupMs);
+            report.put("totalMs", (end - received) / 1_000_000);
+            report.put("featureCacheHits", FeatureCache.hits() - hitsBefore);
+            report.put("featureParses", FeatureCache.misses() - missesBefore);
+            report.put("reportDir", results.getReportDir());
+            report.forEach((k, v) -> out.println(k + "=" + v));
+            appendRunLog(report, params);
+        } catch (Throwable e) {
+            // Errors included (e.g. NoClassDefFoundError from a stale class): report and stay up for the next run
+            System.err.println("[KarateDaemon] Run " + run + " failed: " + e);
+            out.println("status=error");
+            out.println("error=" + (e.getClass().getSimpleName() + ": " + e.getMessage()).replace('\n', ' '));
+        } finally {
+            System.setProperties(saved);
+        }
+    }
+
+    private static Map<String, String> readParams(BufferedReader in) throws IOException {
+        Map<String, String> params = new LinkedHashMap<>();
+        String line;
+        while ((line = in.readLine()) != null && !line.isEmpty()) {
+            int eq = line.indexOf('=');
+            if (eq <= 0) throw new IOException("Invalid parameter line '" + line + "' (expected key=value)");
+            params.put(line.substring(0, eq).trim(), line.substring(eq + 1));
+        }
+        return params;
+    }
+
+    private static void appendRunLog(Map<String, Object> report, Map<String, String> params) {
+        StringBuilder sb = new StringBuilder(Instant.now().toString());
+        report.forEach((k, v) -> sb.append(' ').append(k).append('=').append(v));
+        params.forEach((k, v) -> {
+            if (!"suite".equals(k)) sb.append(' ').append(k).append('=').append(v);
+        });
+        try {
+            Files.createDirectories(RUN_LOG.getParent());
+            Files.writeString(RUN_LOG, sb.append('\n').toString(), StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            System.err.println("[KarateDaemon] Could not write run log: " + e.getMessage());
+        }
+    }
+
+    // ------------ Warm-run extension points ------------
+    @Override
+    protected void selectFeatures(Runner.Builder builder, List<String> features) {
+        if (features.isEmpty()) {
+            super.selectFeatures(builder, features);
+        } else {
+            builder.features(FeatureCache.get(features));
+        }
+    }
+
+    @Override
+    protected void customize(Runner.Builder builder) {
+        // Startup = request received -> first scenario running (config, feature selection, engine setup)
+        builder.hook(new RuntimeHook() {
+            @Override
+            public boolean beforeScenario(ScenarioRuntime sr) {
+                if (firstScenarioNanos == 0) firstScenarioNanos = System.nanoTime();
+                return true;
+            }
+        });
+    }
+}
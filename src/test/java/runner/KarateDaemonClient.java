@@ -0,0 +1,47 @@
+package runner;
+
+import java.io.*;
+import java.net.ConnectException;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+
+// CLI for KarateDaemon; no Karate classes needed, so it starts in milliseconds.
+//   java -cp target/test-classes runner.KarateDaemonClient suite=smoke service=dummyjson [env=qa] [threads=8] ["tags=~@wip"]
+//   java -cp target/test-classes runner.KarateDaemonClient ping|stop
+// Exit code: 0 passed, 1 failed/error, 2 no daemon listening.
+public class KarateDaemonClient {
+
+    public static void main(String[] args) throws IOException {
+        int port = Integer.parseInt(System.getProperty("daemon.port", "7799"));
+        System.exit(send(port, args));
+    }
+
+    static int send(int port, String[] args) throws IOException {
+        String command = args.length == 1 && ("stop".equals(args[0]) || "ping".equals(args[0])) ? args[0] : "run";
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), port)) {
+            PrintWriter out = new PrintWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8), true);
+            BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+            out.println(command);
+            if ("run".equals(command)) {
+                for (String arg : args) {
+                    if (arg.indexOf('=') <= 0) throw new IllegalArgumentException("Invalid argument '" + arg + "' (expected key=value)");
+                    out.println(arg);
+                }
+            }
+            out.println();
+
+            int exit = 0;
+            String line;
+            while ((line = in.readLine()) != null && !"end".equals(line)) {
+                System.out.println(line);
+                if (line.startsWith("status=failed") || line.startsWith("status=error") || line.startsWith("error=")) exit = 1;
+            }
+            return exit;
+        } catch (ConnectException e) {
+            System.err.println("[KarateDaemon] No daemon on 127.0.0.1:" + port + ". Start it with: "
+                    + "mvn -q test-compile exec:java -Dexec.mainClass=runner.KarateDaemon -Dexec.classpathScope=test");
+            return 2;
+        }
+    }
+}
@@ -0,0 +1,303 @@
+package support;
+
+import com.intuit.karate.RuntimeHook;
+import com.intuit.karate.core.ScenarioRuntime;
+import com.intuit.karate.http.HttpRequest;
+import com.intuit.karate.http.Response;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Locale;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+// -Dthreads=auto: the runner pool gets -Dthreads.max threads and this hook decides how many
+// top-level scenarios run at once (AIMD):
+//   start at -Dthreads.start (default 2); after each window (>= 1s and >= limit scenarios, or 10s):
+//   - HTTP error rate (5xx / 429) above -Dthreads.maxErrorRate, or mean HTTP latency above
+//     -Dthreads.latencyTolerance x the best recent window         -> limit x 0.75 (back off)
+//   - otherwise, throughput (scenarios/s) up >= 5% on the last window -> limit + 1
+//   - otherwise hold; three holds in a row probe limit + 1
+// Scenario assertion failures are reported but are not a health signal (a broken test is not a slow service).
+public class AdaptiveConcurrency implements RuntimeHook {
+
+    public static final String STATS_FILE = "concurrency.properties";
+    static final double DECREASE = 0.75;
+    static final double GAIN = 1.05;
+    static final int PROBE_AFTER_HOLDS = 3;
+    static final long MIN_WINDOW_NANOS = TimeUnit.SECONDS.toNanos(1);
+    static final long MAX_WINDOW_NANOS = TimeUnit.SECONDS.toNanos(10);
+    static final int MAX_HISTORY = 100;
+
+    final int start;
+    final int max;
+    final double maxErrorRate;
+    final double latencyTolerance;
+
+    // Gate (guarded by this)
+    private int limit;
+    private int running;
+    private int peak;
+    private long gateWaitNanos;
+    private final long startedNanos = System.nanoTime();
+    private long limitSinceNanos = startedNanos;
+    private double limitSeconds; // integral of limit over time
+
+    // Current window (guarded by this)
+    private long windowStart = startedNanos;
+    private int scenarios;
+    private int failedScenarios;
+    private long scenarioNanos;
+    private long httpCalls;
+    private long httpErrors;
+    private long httpNanos;
+    private double bestLatencyMs = Double.MAX_VALUE;
+    private double lastThroughput;
+    private int holds;
+    private int increases;
+    private int decreases;
+    private final Deque<String> history = new ArrayDeque<>();
+
+    // Slot of the top-level scenario running on this thread (called features share it)
+    private final ThreadLocal<Slot> slot = ThreadLocal.withInitial(Slot::new);
+    private final ThreadLocal<long[]> httpStart = ThreadLocal.withInitial(() -> new long[1]);
+
+    private static final class Slot {
+        boolean held;
+        long start;
+    }
+
+    AdaptiveConcurrency(int start, int max, double maxErrorRate, double latencyTolerance) {
+        if (max < 1) throw new IllegalArgumentException("threads.max must be >= 1. Got " + max);
+        if (start < 1) throw new IllegalArgumentException("threads.start must be >= 1. Got " + start);
+        if (start > max) throw new IllegalArgumentException("threads.start must be <= threads.max (" + max + "). Got " + start);
+        if (latencyTolerance <= 1) throw new IllegalArgumentException("threads.latencyTolerance must be > 1. Got " + latencyTolerance);
+        this.start = start;
+        this.max = max;
+        this.maxErrorRate = maxErrorRate;
+        this.latencyTolerance = latencyTolerance;
+        this.limit = this.start;
+    }
+
+    public static boolean isAuto() {
+        return "auto".equalsIgnoreCase(System.getProperty("threads", "5").trim());
+    }
+
+    // Runner pool size: -Dthreads, or -Dthreads.max when adaptive (default 4 x CPUs, at most 32)
+    public static int poolSize() {
+        String raw = System.getProperty("threads", "5").trim();
+        if (isAuto()) {
+            int cpus = Runtime.getRuntime().availableProcessors();
+            return intProperty("threads.max", String.valueOf(Math.min(32, cpus * 4)));
+        }
+        try {
+            return Integer.parseInt(raw);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid -Dthreads=" + raw + " (expected a positive integer or 'auto')");
+        }
+    }
+
+    // null unless -Dthreads=auto
+    public static AdaptiveConcurrency fromSystemProperties() {
+        if (!isAuto()) return null;
+        return new AdaptiveConcurrency(
+                intProperty("threads.start", "2"),
+                poolSize(),
+                doubleProperty("threads.maxErrorRate", "0.05"),
+                doubleProperty("threads.latencyTolerance", "1.5"));
+    }
+
+    private static int intProperty(String name, String defaultValue) {
+        String raw = System.getProperty(name, defaultValue).trim();
+        try {
+            return Integer.parseInt(raw);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid -D" + name + "=" + raw + " (expected a positive integer)");
+        }
+    }
+
+    private static double doubleProperty(String name, String defaultValue) {
+        String raw = System.getProperty(name, defaultValue).trim();
+        try {
+            return Double.parseDouble(raw);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid -D" + name + "=" + raw + " (expected a number)");
+        }
+    }
+
+    // ------------ Gate ------------
+    @Override
+    public boolean beforeScenario(ScenarioRuntime sr) {
+        if (ScenarioLogContext.isTopLevel(sr)) enter();
+        return true;
+    }
+
+    @Override
+    public void afterScenario(ScenarioRuntime sr) {
+        if (ScenarioLogContext.isTopLevel(sr)) exit(sr.result != null && sr.result.isFailed());
+    }
+
+    @Override
+    public void beforeHttpCall(HttpRequest request, ScenarioRuntime sr) {
+        httpStart.get()[0] = System.nanoTime();
+    }
+
+    @Override
+    public void afterHttpCall(HttpRequest request, Response response, ScenarioRuntime sr) {
+        httpDone(System.nanoTime() - httpStart.get()[0], response == null ? 0 : response.getStatus());
+    }
+
+    // Waits for a slot. A slot this thread still holds is given back first: another hook vetoed its
+    // scenario, so afterScenario never ran (and the thread is not running it anymore)
+    void enter() {
+        Slot s = slot.get();
+        long t0 = System.nanoTime();
+        synchronized (this) {
+            if (s.held) {
+                s.held = false;
+                running--;
+                notifyAll();
+            }
+            try {
+                while (running >= limit) wait();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for a concurrency slot", e);
+            }
+            running++;
+            s.held = true;
+            peak = Math.max(peak, running);
+            gateWaitNanos += System.nanoTime() - t0;
+        }
+        s.start = System.nanoTime();
+    }
+
+    void exit(boolean failed) {
+        Slot s = slot.get();
+        if (!s.held) return;
+        long now = System.nanoTime();
+        synchronized (this) {
+            s.held = false;
+            running--;
+            notifyAll();
+            scenarioDone(now, now - s.start, failed);
+        }
+    }
+
+    synchronized int running() {
+        return running;
+    }
+
+    // ------------ Window ------------
+    synchronized void scenarioDone(long now, long nanos, boolean failed) {
+        scenarios++;
+        if (failed) failedScenarios++;
+        scenarioNanos += nanos;
+        maybeAdjust(now);
+    }
+
+    synchronized void httpDone(long nanos, int status) {
+        httpCalls++;
+        httpNanos += nanos;
+        if (status == 0 || status == 429 || status >= 500) httpErrors++;
+    }
+
+    // ------------ Controller (caller holds the lock) ------------
+    private void maybeAdjust(long now) {
+        long elapsed = now - windowStart;
+        if (elapsed < MIN_WINDOW_NANOS || (scenarios < limit && elapsed < MAX_WINDOW_NANOS)) return;
+
+        double seconds = elapsed / 1e9;
+        double throughput = scenarios / seconds;
+        double latencyMs = httpCalls > 0 ? httpNanos / 1e6 / httpCalls : scenarioNanos / 1e6 / scenarios;
+        double errorRate = httpCalls > 0 ? (double) httpErrors / httpCalls : 0;
+        // Slowly forget the best latency so a service that got slower for good does not pin us at 1
+        bestLatencyMs = Math.min(latencyMs, bestLatencyMs * 1.05);
+
+        int next = limit;
+        String decision;
+        if (errorRate > maxErrorRate || latencyMs > bestLatencyMs * latencyTolerance) {
+            next = Math.max(1, (int) Math.floor(limit * DECREASE));
+            decision = errorRate > maxErrorRate ? "decrease (errors)" : "decrease (latency)";
+            holds = 0;
+        } else if (lastThroughput == 0 || throughput >= lastThroughput * GAIN || ++holds >= PROBE_AFTER_HOLDS) {
+            next = Math.min(max, limit + 1);
+            decision = holds >= PROBE_AFTER_HOLDS ? "probe" : "increase";
+            holds = 0;
+        } else {
+            decision = "hold";
+        }
+        if (next > limit) increases++;
+        if (next < limit) decreases++;
+
+        record(String.format(Locale.ROOT, "%.1fs|%d|%d|%.2f|%.0f|%.1f|%d|%s",
+                (now - startedNanos) / 1e9, limit, next, throughput, latencyMs, errorRate * 100, failedScenarios, decision));
+        setLimit(next, now);
+
+        lastThroughput = throughput;
+        windowStart = now;
+        scenarios = 0;
+        failedScenarios = 0;
+        scenarioNanos = 0;
+        httpCalls = 0;
+        httpErrors = 0;
+        httpNanos = 0;
+    }
+
+    private void setLimit(int next, long now) {
+        limitSeconds += limit * ((now - limitSinceNanos) / 1e9);
+        limitSinceNanos = now;
+        limit = next;
+    }
+
+    private void record(String entry) {
+        if (history.size() == MAX_HISTORY) history.removeFirst();
+        history.addLast(entry);
+    }
+
+    public synchronized int limit() {
+        return limit;
+    }
+
+    // Average limit over the run so far (the real capacity of an auto run, not threads.max)
+    public synchronized double timeWeightedLimit() {
+        long now = System.nanoTime();
+        double total = (now - startedNanos) / 1e9;
+        return total <= 0 ? limit : (limitSeconds + limit * ((now - limitSinceNanos) / 1e9)) / total;
+    }
+
+    // ------------ Report ------------
+    public synchronized void writeStats(Path reportDir) {
+        double weighted = timeWeightedLimit();
+
+        Properties p = new Properties();
+        p.setProperty("start", String.valueOf(start));
+        p.setProperty("max", String.valueOf(max));
+        p.setProperty("final", String.valueOf(limit));
+        p.setProperty("peakRunning", String.valueOf(peak));
+        p.setProperty("timeWeighted", String.format(Locale.ROOT, "%.2f", weighted));
+        p.setProperty("increases", String.valueOf(increases));
+        p.setProperty("decreases", String.valueOf(decreases));
+        p.setProperty("gateWaitMs", String.valueOf(TimeUnit.NANOSECONDS.toMillis(gateWaitNanos)));
+        p.setProperty("maxErrorRate", String.valueOf(maxErrorRate));
+        p.setProperty("latencyTolerance", String.valueOf(latencyTolerance));
+        int i = 0;
+        for (String h : history) {
+            p.setProperty(String.format(Locale.ROOT, "window.%03d", i++), h);
+        }
+        try {
+            Files.createDirectories(reportDir);
+            try (OutputStream os = Files.newOutputStream(reportDir.resolve(STATS_FILE))) {
+                p.store(os, "adaptive concurrency (-Dthreads=auto); window = elapsed|limit|next|scenarios/s|httpMs|http error %|failed|decision");
+            }
+        } catch (IOException e) {
+            System.err.println("[AdaptiveConcurrency] Could not write stats: " + e.getMessage());
+        }
+        System.out.printf(Locale.ROOT, "[AdaptiveConcurrency] start=%d max=%d final=%d peak=%d time-weighted=%.2f (+%d / -%d)%n",
+                start, max, limit, peak, weighted, increases, decreases);
+    }
+}
@@ -0,0 +1,142 @@
+package support;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveConcurrencyTest {
+
+    private static final long MS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    @TempDir
+    Path tmp;
+
+    @Test
+    void increasesHoldsProbesAndBacksOff() throws Exception {
+        AdaptiveConcurrency ac = new AdaptiveConcurrency(2, 10, 0.05, 1.5);
+        long t0 = System.nanoTime();
+
+        window(ac, t0 + 1000 * MS, 2, 100, 200);  // first window: increase -> 3
+        window(ac, t0 + 2000 * MS, 3, 100, 200);  // 3/s vs 2/s: increase -> 4
+        window(ac, t0 + 3500 * MS, 4, 100, 200);  // 2.7/s: hold
+        window(ac, t0 + 5000 * MS, 4, 100, 200);  // flat: hold
+        window(ac, t0 + 6500 * MS, 4, 100, 200);  // third hold in a row: probe -> 5
+        window(ac, t0 + 7500 * MS, 5, 100, 200, 503, 503, 429, 503); // 80% errors: 5 x 0.75 -> 3
+        window(ac, t0 + 8500 * MS, 3, 1000, 200); // 10x the best latency: 3 x 0.75 -> 2
+
+        assertEquals(2, ac.limit());
+        assertEquals(List.of("increase", "increase", "hold", "hold", "probe", "decrease (errors)", "decrease (latency)"), decisions(ac));
+        assertEquals(List.of("2|3", "3|4", "4|4", "4|4", "4|5", "5|3", "3|2"), limits(ac));
+    }
+
+    @Test
+    void waitsForTheWindowBeforeDeciding() throws Exception {
+        AdaptiveConcurrency quick = new AdaptiveConcurrency(4, 10, 0.05, 1.5);
+        window(quick, System.nanoTime() + 500 * MS, 5, 100, 200); // enough scenarios, under 1s
+        assertEquals(List.of(), decisions(quick));
+
+        AdaptiveConcurrency slow = new AdaptiveConcurrency(4, 10, 0.05, 1.5);
+        long t0 = System.nanoTime();
+        window(slow, t0 + 5000 * MS, 1, 100, 200);   // over 1s, fewer scenarios than the limit
+        assertEquals(List.of(), decisions(slow));
+        window(slow, t0 + 10_500 * MS, 1, 100, 200); // 10s: decide anyway
+        assertEquals(List.of("increase"), decisions(slow));
+    }
+
+    @Test
+    void limitStaysWithinOneAndMax() throws Exception {
+        AdaptiveConcurrency ac = new AdaptiveConcurrency(1, 2, 0.05, 1.5);
+        long t0 = System.nanoTime();
+
+        window(ac, t0 + 1000 * MS, 1, 100, 200);
+        window(ac, t0 + 2000 * MS, 2, 100, 200);
+        window(ac, t0 + 3000 * MS, 3, 100, 200);
+        assertEquals(2, ac.limit());
+
+        window(ac, t0 + 4000 * MS, 2, 100, 503);
+        window(ac, t0 + 5000 * MS, 1, 100, 503);
+        assertEquals(1, ac.limit());
+    }
+
+    @Test
+    void aVetoedScenarioDoesNotKeepItsSlot() throws Exception {
+        AdaptiveConcurrency ac = new AdaptiveConcurrency(1, 1, 0.05, 1.5);
+
+        ac.enter();
+        ac.enter(); // previous scenario vetoed: no afterScenario, must not wait for itself
+        assertEquals(1, ac.running());
+        ac.exit(false);
+        ac.exit(false); // no slot held: no-op
+        assertEquals(0, ac.running());
+    }
+
+    @Test
+    void gateBlocksAtTheLimitUntilASlotIsFreed() throws Exception {
+        AdaptiveConcurrency ac = new AdaptiveConcurrency(1, 1, 0.05, 1.5);
+        ac.enter();
+
+        CountDownLatch entered = new CountDownLatch(1);
+        Thread other = new Thread(() -> {
+            ac.enter();
+            entered.countDown();
+            ac.exit(false);
+        });
+        other.start();
+        assertFalse(entered.await(200, TimeUnit.MILLISECONDS));
+
+        ac.exit(false);
+        assertTrue(entered.await(5, TimeUnit.SECONDS));
+        other.join();
+        assertEquals(0, ac.running());
+    }
+
+    @Test
+    void rejectsInvalidSettings() {
+        assertThrows(IllegalArgumentException.class, () -> new AdaptiveConcurrency(0, 4, 0.05, 1.5));
+        assertThrows(IllegalArgumentException.class, () -> new AdaptiveConcurrency(5, 4, 0.05, 1.5));
+        assertThrows(IllegalArgumentException.class, () -> new AdaptiveConcurrency(2, 4, 0.05, 1.0));
+    }
+
+    // One window: scenarios finished by "end", one HTTP call per status of httpMs each
+    private static void window(AdaptiveConcurrency ac, long end, int scenarios, long httpMs, int... statuses) {
+        for (int status : statuses) ac.httpDone(httpMs * MS, status);
+        for (int i = 0; i < scenarios - 1; i++) ac.scenarioDone(end - MS, 200 * MS, false);
+        ac.scenarioDone(end, 200 * MS, false);
+    }
+
+    // window.NNN = elapsed|limit|next|scenarios/s|httpMs|http error %|failed|decision
+    private List<String[]> windows(AdaptiveConcurrency ac) throws Exception {
+        ac.writeStats(tmp);
+        Properties p = new Properties();
+        try (InputStream in = Files.newInputStream(tmp.resolve(AdaptiveConcurrency.STATS_FILE))) {
+            p.load(in);
+        }
+        List<String[]> windows = new ArrayList<>();
+        for (int i = 0; p.containsKey(String.format("window.%03d", i)); i++) {
+            windows.add(p.getProperty(String.format("window.%03d", i)).split("\\|"));
+        }
+        return windows;
+    }
+
+    private List<String> decisions(AdaptiveConcurrency ac) throws Exception {
+        List<String> d = new ArrayList<>();
+        for (String[] w : windows(ac)) d.add(w[7]);
+        return d;
+    }
+
+    private List<String> limits(AdaptiveConcurrency ac) throws Exception {
+        List<String> l = new ArrayList<>();
+        for (String[] w : windows(ac)) l.add(w[1] + "|" + w[2]);
+        return l;
+    }
+}
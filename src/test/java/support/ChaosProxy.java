@@ -0,0 +1,418 @@
+package support;
+
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+// Local reverse proxy that degrades the network in front of one service's baseUrl (JDK HttpServer, no extra tooling).
+// Enabled per service in config/<env>.json; BaseKarateRunner starts it and the run's baseUrl points at it:
+//
+//   "dummyjson": { "baseUrl": "https://dummyjson.com",
+//                  "chaos": { "enabled": true,
+//                             "latency": { "dist": "lognormal", "medianMs": 150, "sigma": 0.5, "capMs": 5000 },
+//                             "bandwidthKbps": 512, "resetRate": 0.01, "errorRate": 0.02, "errorStatus": 503,
+//                             "seed": 42 } }
+//
+// latency.dist: fixed (ms) | uniform (minMs, maxMs) | normal (meanMs, stddevMs) | exponential (meanMs)
+//               | lognormal (medianMs, sigma); added before forwarding, capped at capMs (default 30000)
+// bandwidthKbps: response bodies are written in 100 ms slices at this rate (0 = unlimited)
+// resetRate:     share of requests whose connection is closed without a response
+// errorRate:     share of requests answered with errorStatus (default 503) without reaching the service
+// Forwarded calls use the service's connectTimeoutMs / readTimeoutMs (same defaults as ResolvedConfig).
+// The injected parameters and what they did are written to chaos.properties for the executive summary.
+public final class ChaosProxy implements AutoCloseable {
+
+    public static final String STATS_FILE = "chaos.properties";
+    static final int MAX_SAMPLES = 10_000;
+
+    // Running proxies by service: ResolvedConfig / ServiceGovernor route the service's baseUrl here
+    private static final Map<String, ChaosProxy> ACTIVE = new ConcurrentHashMap<>();
+
+    // Set by HttpClient itself / recomputed by HttpServer; never copied through
+    private static final Set<String> HOP_BY_HOP = Set.of(
+            "connection", "content-length", "expect", "host", "upgrade", "keep-alive", "proxy-connection",
+            "transfer-encoding", "te", "trailer", "http2-settings");
+
+    final String service;
+    final String upstream;
+    final Map<String, Object> settings; // chaos block as configured, for the report
+    private final Latency latency;
+    private final long bytesPerSecond;
+    private final double resetRate;
+    private final double errorRate;
+    private final int errorStatus;
+    private final Random random;
+    private final Duration readTimeout;
+
+    private final HttpServer server;
+    private final ExecutorService workers;
+    private final HttpClient client;
+
+    final LongAdder requests = new LongAdder();
+    final LongAdder resets = new LongAdder();
+    final LongAdder errors = new LongAdder();
+    final LongAdder upstreamFailures = new LongAdder();
+    final LongAdder injectedNanos = new LongAdder();
+    final LongAdder upstreamNanos = new LongAdder();
+    final LongAdder throttledNanos = new LongAdder();
+    final LongAdder bytesOut = new LongAdder();
+    private final long[] latencySamples = new long[MAX_SAMPLES]; // injected ms, reservoir
+    private long seen; // guarded by latencySamples
+
+    private ChaosProxy(String service, String upstream, Map<String, Object> chaos, int connectTimeoutMs, int readTimeoutMs) throws IOException {
+        this.service = service;
+        this.upstream = upstream.endsWith("/") ? upstream.substring(0, upstream.length() - 1) : upstream;
+        this.settings = chaos;
+        Object latencyBlock = chaos.get("latency");
+        this.latency = latencyBlock instanceof Map ? Latency.of(service, asMap(latencyBlock)) : null;
+        this.bytesPerSecond = Math.round(EnvConfig.number(chaos, "bandwidthKbps", 0) * 1000 / 8);
+        this.resetRate = rate(chaos, "resetRate");
+        this.errorRate = rate(chaos, "errorRate");
+        this.errorStatus = EnvConfig.integer(chaos, "errorStatus", 503);
+        if (bytesPerSecond < 0) throw new IllegalArgumentException("Invalid chaos.bandwidthKbps for service=" + service + " (must be >= 0)");
+        if (errorStatus < 100 || errorStatus > 599) throw new IllegalArgumentException("Invalid chaos.errorStatus=" + errorStatus + " for service=" + service);
+        Object seed = chaos.get("seed");
+        this.random = seed == null ? new Random() : new Random(EnvConfig.integer(chaos, "seed", 0));
+        if (connectTimeoutMs <= 0 || readTimeoutMs <= 0) {
+            throw new IllegalArgumentException("Invalid timeouts for service=\"" + service + "\": connectTimeoutMs=" + connectTimeoutMs
+                    + ", readTimeoutMs=" + readTimeoutMs + " (must be > 0)");
+        }
+        this.readTimeout = Duration.ofMillis(readTimeoutMs);
+
+        AtomicInteger ids = new AtomicInteger();
+        this.workers = Executors.newCachedThreadPool(r -> {
+            Thread t = new Thread(r, "chaos-proxy-" + service + "-" + ids.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        this.client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+                .followRedirects(HttpClient.Redirect.NEVER) // the caller decides, as without the proxy
+                .executor(workers)
+                .build();
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 64);
+        server.createContext("/", this::handle);
+        server.setExecutor(workers);
+        server.start();
+    }
+
+    // Proxy for the service when its config block has chaos.enabled=true, otherwise null
+    public static ChaosProxy startIfEnabled(EnvConfig config, String service) {
+        stop(service);
+        Map<String, Object> block = config.services().get(service);
+        if (block == null || !(block.get("chaos") instanceof Map)) return null;
+        Map<String, Object> chaos = asMap(block.get("chaos"));
+        if (!Boolean.parseBoolean(String.valueOf(chaos.getOrDefault("enabled", "false")))) return null;
+
+        String baseUrl = EnvConfig.string(block, "baseUrl", "");
+        try {
+            ChaosProxy proxy = new ChaosProxy(service, baseUrl, chaos,
+                    EnvConfig.integer(block, "connectTimeoutMs", 10_000), EnvConfig.integer(block, "readTimeoutMs", 30_000));
+            ACTIVE.put(service, proxy);
+            System.out.println("[ChaosProxy] " + service + ": " + proxy.url() + " -> " + proxy.upstream + " " + proxy.describe());
+            return proxy;
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not start chaos proxy for service=" + service, e);
+        }
+    }
+
+    // The proxy URL when the service is proxied, baseUrl otherwise
+    public static String routed(String service, String baseUrl) {
+        ChaosProxy proxy = ACTIVE.get(service);
+        return proxy == null ? baseUrl : proxy.url();
+    }
+
+    static void stop(String service) {
+        ChaosProxy previous = ACTIVE.remove(service);
+        if (previous != null) previous.shutdown();
+    }
+
+    public String url() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    @Override
+    public void close() {
+        ACTIVE.remove(service, this);
+        shutdown();
+    }
+
+    private void shutdown() {
+        server.stop(0);
+        workers.shutdownNow();
+    }
+
+    // ------------ Request path ------------
+    private void handle(HttpExchange exchange) throws IOException {
+        requests.increment();
+        try {
+            double roll;
+            long delayMs;
+            synchronized (random) {
+                roll = random.nextDouble();
+                delayMs = latency == null ? 0 : latency.sample(random);
+            }
+            record(delayMs);
+            if (delayMs > 0) {
+                injectedNanos.add(TimeUnit.MILLISECONDS.toNanos(delayMs));
+                Thread.sleep(delayMs);
+            }
+
+            if (roll < resetRate) {
+                resets.increment();
+                return; // closed below without a response: the client sees the connection drop
+            }
+            if (roll < resetRate + errorRate) {
+                errors.increment();
+                byte[] body = ("{\"chaos\":\"injected " + errorStatus + "\",\"service\":\"" + service + "\"}").getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().set("Content-Type", "application/json");
+                exchange.getResponseHeaders().set("X-Chaos", "error");
+                send(exchange, errorStatus, body);
+                return;
+            }
+            forward(exchange);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void forward(HttpExchange exchange) throws IOException, InterruptedException {
+        URI target = URI.create(upstream + exchange.getRequestURI().getRawPath()
+                + (exchange.getRequestURI().getRawQuery() == null ? "" : "?" + exchange.getRequestURI().getRawQuery()));
+        byte[] requestBody = exchange.getRequestBody().readAllBytes();
+
+        HttpRequest.Builder rb = HttpRequest.newBuilder(target)
+                .timeout(readTimeout)
+                .method(exchange.getRequestMethod(), requestBody.length == 0
+                        ? HttpRequest.BodyPublishers.noBody()
+                        : HttpRequest.BodyPublishers.ofByteArray(requestBody));
+        for (Map.Entry<String, List<String>> h : exchange.getRequestHeaders().entrySet()) {
+            if (HOP_BY_HOP.contains(h.getKey().toLowerCase(Locale.ROOT))) continue;
+            for (String v : h.getValue()) rb.header(h.getKey(), v);
+        }
+
+        long start = System.nanoTime();
+        HttpResponse<byte[]> response;
+        try {
+            response = client.send(rb.build(), HttpResponse.BodyHandlers.ofByteArray());
+        } catch (IOException e) {
+            upstreamFailures.increment();
+            byte[] body = ("{\"chaos\":\"upstream failed\",\"error\":\"" + String.valueOf(e.getMessage()).replace("\"", "'") + "\"}")
+                    .getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            send(exchange, 502, body);
+            return;
+        } finally {
+            upstreamNanos.add(System.nanoTime() - start);
+        }
+
+        Headers out = exchange.getResponseHeaders();
+        response.headers().map().forEach((name, values) -> {
+            if (!HOP_BY_HOP.contains(name.toLowerCase(Locale.ROOT)) && !name.startsWith(":")) out.put(name, new ArrayList<>(values));
+        });
+        send(exchange, response.statusCode(), "HEAD".equalsIgnoreCase(exchange.getRequestMethod()) ? null : response.body());
+    }
+
+    // Writes the body at bytesPerSecond (100 ms slices) when a bandwidth limit is set
+    private void send(HttpExchange exchange, int status, byte[] body) throws IOException, InterruptedException {
+        if (body == null || body.length == 0) {
+            exchange.sendResponseHeaders(status, -1);
+            return;
+        }
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream os = exchange.getResponseBody()) {
+            if (bytesPerSecond <= 0) {
+                os.write(body);
+            } else {
+                int slice = (int) Math.max(1, bytesPerSecond / 10);
+                long start = System.nanoTime();
+                for (int off = 0; off < body.length; off += slice) {
+                    os.write(body, off, Math.min(slice, body.length - off));
+                    os.flush();
+                    long due = start + (long) ((off + slice) * 1e9 / bytesPerSecond);
+                    long wait = due - System.nanoTime();
+                    if (wait > 0) TimeUnit.NANOSECONDS.sleep(wait);
+                }
+                throttledNanos.add(System.nanoTime() - start);
+            }
+        }
+        bytesOut.add(body.length);
+    }
+
+    private void record(long delayMs) {
+        synchronized (latencySamples) {
+            long n = seen++;
+            if (n < MAX_SAMPLES) {
+                latencySamples[(int) n] = delayMs;
+            } else {
+                long j = (long) (Math.random() * (n + 1));
+                if (j < MAX_SAMPLES) latencySamples[(int) j] = delayMs;
+            }
+        }
+    }
+
+    // ------------ Latency distributions ------------
+    static final class Latency {
+        final String dist;
+        final double a;
+        final double b;
+        final long capMs;
+
+        private Latency(String dist, double a, double b, long capMs) {
+            this.dist = dist;
+            this.a = a;
+            this.b = b;
+            this.capMs = capMs;
+        }
+
+        static Latency of(String service, Map<String, Object> block) {
+            String dist = EnvConfig.string(block, "dist", "fixed").trim().toLowerCase(Locale.ROOT);
+            long cap = EnvConfig.integer(block, "capMs", 30_000);
+            Latency l;
+            switch (dist) {
+                case "fixed":
+                    l = new Latency(dist, EnvConfig.number(block, "ms", 0), 0, cap);
+                    break;
+                case "uniform":
+                    l = new Latency(dist, EnvConfig.number(block, "minMs", 0), EnvConfig.number(block, "maxMs", 0), cap);
+                    if (l.b < l.a) throw new IllegalArgumentException("Invalid chaos.latency for service=" + service + ": maxMs < minMs");
+                    break;
+                case "normal":
+                    l = new Latency(dist, EnvConfig.number(block, "meanMs", 0), EnvConfig.number(block, "stddevMs", 0), cap);
+                    break;
+                case "exponential":
+                    l = new Latency(dist, EnvConfig.number(block, "meanMs", 0), 0, cap);
+                    break;
+                case "lognormal":
+                    l = new Latency(dist, EnvConfig.number(block, "medianMs", 0), EnvConfig.number(block, "sigma", 0.5), cap);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown chaos.latency.dist='" + dist + "' for service=" + service
+                            + " (expected fixed, uniform, normal, exponential or lognormal)");
+            }
+            if (l.a < 0 || l.b < 0 || cap < 0) throw new IllegalArgumentException("Invalid chaos.latency for service=" + service + " (values must be >= 0)");
+            return l;
+        }
+
+        long sample(Random r) {
+            double ms;
+            switch (dist) {
+                case "uniform":
+                    ms = a + r.nextDouble() * (b - a);
+                    break;
+                case "normal":
+                    ms = a + r.nextGaussian() * b;
+                    break;
+                case "exponential":
+                    ms = -a * Math.log(1 - r.nextDouble());
+                    break;
+                case "lognormal":
+                    ms = a * Math.exp(b * r.nextGaussian());
+                    break;
+                default:
+                    ms = a;
+            }
+            return Math.max(0, Math.min(capMs, Math.round(ms)));
+        }
+
+        @Override
+        public String toString() {
+            switch (dist) {
+                case "uniform":
+                    return String.format(Locale.ROOT, "uniform %.0f-%.0f ms", a, b);
+                case "normal":
+                    return String.format(Locale.ROOT, "normal %.0f ms +/- %.0f", a, b);
+                case "exponential":
+                    return String.format(Locale.ROOT, "exponential mean %.0f ms", a);
+                case "lognormal":
+                    return String.format(Locale.ROOT, "lognormal median %.0f ms, sigma %.2f", a, b);
+                default:
+                    return String.format(Locale.ROOT, "fixed %.0f ms", a);
+            }
+        }
+    }
+
+    String describe() {
+        List<String> parts = new ArrayList<>();
+        parts.add("latency " + (latency == null ? "none" : latency + " (cap " + latency.capMs + " ms)"));
+        parts.add("bandwidth " + (bytesPerSecond <= 0 ? "unlimited" : Math.round(bytesPerSecond * 8 / 1000.0) + " kbps"));
+        parts.add(String.format(Locale.ROOT, "resets %.1f%%", resetRate * 100));
+        parts.add(String.format(Locale.ROOT, "errors %.1f%% (HTTP %d)", errorRate * 100, errorStatus));
+        if (settings.get("seed") != null) parts.add("seed " + settings.get("seed"));
+        return String.join(", ", parts);
+    }
+
+    private static double rate(Map<String, Object> chaos, String key) {
+        double v = EnvConfig.number(chaos, key, 0);
+        if (v < 0 || v > 1) throw new IllegalArgumentException("Invalid chaos." + key + "=" + v + " (expected 0..1)");
+        return v;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> asMap(Object o) {
+        return (Map<String, Object>) o;
+    }
+
+    // ------------ Report ------------
+    public void writeStats(Path reportDir) {
+        long[] sorted;
+        synchronized (latencySamples) {
+            sorted = Arrays.copyOf(latencySamples, (int) Math.min(seen, MAX_SAMPLES));
+        }
+        Arrays.sort(sorted);
+        long n = requests.sum();
+        long forwarded = Math.max(0, n - resets.sum() - errors.sum());
+
+        Properties p = new Properties();
+        p.setProperty("service", service);
+        p.setProperty("upstream", upstream);
+        p.setProperty("injected", describe());
+        p.setProperty("requests", String.valueOf(n));
+        p.setProperty("resets", String.valueOf(resets.sum()));
+        p.setProperty("errors", String.valueOf(errors.sum()));
+        p.setProperty("upstreamFailures", String.valueOf(upstreamFailures.sum()));
+        p.setProperty("injectedLatencyAvgMs", String.valueOf(n == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(injectedNanos.sum()) / n));
+        p.setProperty("injectedLatencyP50Ms", String.valueOf(percentile(sorted, 0.50)));
+        p.setProperty("injectedLatencyP95Ms", String.valueOf(percentile(sorted, 0.95)));
+        p.setProperty("injectedLatencyMaxMs", String.valueOf(sorted.length == 0 ? 0 : sorted[sorted.length - 1]));
+        p.setProperty("upstreamAvgMs", String.valueOf(forwarded == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(upstreamNanos.sum()) / forwarded));
+        p.setProperty("bandwidthWaitMs", String.valueOf(TimeUnit.NANOSECONDS.toMillis(throttledNanos.sum())));
+        p.setProperty("bytesOut", String.valueOf(bytesOut.sum()));
+        try {
+            Files.createDirectories(reportDir);
+            try (OutputStream os = Files.newOutputStream(reportDir.resolve(STATS_FILE))) {
+                p.store(os, "chaos proxy for service=" + service);
+            }
+        } catch (IOException e) {
+            System.err.println("[ChaosProxy] Could not write stats: " + e.getMessage());
+        }
+    }
+
+    private static long percentile(long[] sorted, double q) {
+        if (sorted.length == 0) return 0;
+        int i = (int) Math.ceil(q * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, i))];
+    }
+}
@@ -0,0 +1,174 @@
+package support;
+
+import com.intuit.karate.core.Config;
+import com.intuit.karate.http.HttpClient;
+import com.intuit.karate.http.HttpClientFactory;
+import com.intuit.karate.http.HttpRequest;
+import com.intuit.karate.http.Response;
+import org.slf4j.MDC;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Outermost HTTP client wrapper: enforces the scenario / suite deadline (Deadlines) on every request.
+// When the deadline is further away than connect + read timeout, the request runs inline and the socket
+// timeouts fire first. Otherwise it runs on a helper thread and the scenario stops waiting when the deadline
+// passes; the abandoned call ends on its own read timeout. The helper uses the scenario's own client (cookies,
+// proxy and SSL config included), so the next request on this client first waits for an abandoned call to
+// end: Karate's clients are not thread-safe and are never used by two threads at once.
+public class DeadlineHttpClient implements HttpClient {
+
+    // Abandoned calls hold their helper until their read timeout; when every helper is busy the call runs
+    // inline and only the socket timeouts bound it
+    static final int MAX_HELPERS = 64;
+
+    private static final AtomicInteger THREAD_IDS = new AtomicInteger();
+    private static final ExecutorService CALLS = new ThreadPoolExecutor(0, MAX_HELPERS, 30, TimeUnit.SECONDS,
+            new SynchronousQueue<>(), r -> {
+                Thread t = new Thread(r, "karate-deadline-" + THREAD_IDS.incrementAndGet());
+                t.setDaemon(true);
+                return t;
+            });
+
+    // Bounded call running on the current helper thread, for inner clients' onAbandon cleanup
+    private static final ThreadLocal<BoundedCall> CURRENT = new ThreadLocal<>();
+
+    private final HttpClient delegate;
+    private final Deadlines deadlines;
+
+    // Counted down when the last abandoned call ends; null when none is outstanding. Scenario thread only.
+    private CountDownLatch abandoned;
+
+    public DeadlineHttpClient(HttpClient delegate, Deadlines deadlines) {
+        this.delegate = delegate;
+        this.deadlines = deadlines;
+    }
+
+    public static HttpClientFactory factory(HttpClientFactory delegate, Deadlines deadlines) {
+        return engine -> new DeadlineHttpClient(delegate.create(engine), deadlines);
+    }
+
+    // Runs action if the bounded call on this thread is abandoned (e.g. to give back a ServiceGovernor slot
+    // the call still holds); no-op outside a bounded call
+    static void onAbandon(Runnable action) {
+        BoundedCall call = CURRENT.get();
+        if (call != null) call.onAbandon(action);
+    }
+
+    @Override
+    public void setConfig(Config config) {
+        delegate.setConfig(config);
+    }
+
+    @Override
+    public Config getConfig() {
+        return delegate.getConfig();
+    }
+
+    @Override
+    public Response invoke(HttpRequest request) {
+        Deadlines.Budget budget = deadlines.budget();
+        awaitAbandoned(budget, request);
+        if (budget == null) return delegate.invoke(request);
+
+        long left = budget.remainingNanos();
+        String what = "before " + request.getMethod() + " " + request.getUrl();
+        if (left <= 0) throw deadlines.timeout(budget, what);
+        if (left > socketTimeoutNanos()) return delegate.invoke(request);
+
+        // Scenario logs are routed by MDC (ScenarioLogContext): carry it to the helper thread
+        Map<String, String> mdc = MDC.getCopyOfContextMap();
+        BoundedCall bounded = new BoundedCall();
+        Future<Response> call;
+        try {
+            call = CALLS.submit(() -> {
+                CURRENT.set(bounded);
+                if (mdc != null) MDC.setContextMap(mdc);
+                try {
+                    return delegate.invoke(request);
+                } finally {
+                    MDC.clear();
+                    CURRENT.remove();
+                    bounded.finished.countDown();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            return delegate.invoke(request);
+        }
+        try {
+            return call.get(left, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            abandon(call, bounded);
+            throw deadlines.timeout(budget, "waiting for " + request.getMethod() + " " + request.getUrl());
+        } catch (InterruptedException e) {
+            abandon(call, bounded);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for " + request.getMethod() + " " + request.getUrl(), e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+            if (cause instanceof Error) throw (Error) cause;
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    private void abandon(Future<Response> call, BoundedCall bounded) {
+        // cancel() marks the future done at once; the latch tracks when the client is actually free again
+        abandoned = bounded.finished;
+        call.cancel(true);
+        bounded.abandon();
+    }
+
+    // The client may still be busy with a call the scenario stopped waiting for
+    private void awaitAbandoned(Deadlines.Budget budget, HttpRequest request) {
+        CountDownLatch busy = abandoned;
+        if (busy == null) return;
+        try {
+            if (budget == null) {
+                busy.await();
+            } else if (!busy.await(Math.max(0, budget.remainingNanos()), TimeUnit.NANOSECONDS)) {
+                throw deadlines.timeout(budget, "before " + request.getMethod() + " " + request.getUrl()
+                        + " (an abandoned request still holds the client)");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted before " + request.getMethod() + " " + request.getUrl(), e);
+        }
+        abandoned = null;
+    }
+
+    // Longest a well-behaved request can take before Karate's own timeouts give up on it
+    private long socketTimeoutNanos() {
+        Config config = delegate.getConfig();
+        if (config == null) return Long.MAX_VALUE; // unknown: always bound the wait
+        return TimeUnit.MILLISECONDS.toNanos((long) config.getConnectTimeout() + config.getReadTimeout());
+    }
+
+    private static final class BoundedCall {
+        final CountDownLatch finished = new CountDownLatch(1);
+        private final List<Runnable> cleanup = new ArrayList<>();
+        private boolean abandoned;
+
+        void onAbandon(Runnable action) {
+            synchronized (this) {
+                if (!abandoned) {
+                    cleanup.add(action);
+                    return;
+                }
+            }
+            action.run();
+        }
+
+        void abandon() {
+            List<Runnable> actions;
+            synchronized (this) {
+                abandoned = true;
+                actions = new ArrayList<>(cleanup);
+            }
+            actions.forEach(Runnable::run);
+        }
+    }
+}
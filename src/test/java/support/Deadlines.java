@@ -0,0 +1,148 @@
+package support;
+
+import com.intuit.karate.RuntimeHook;
+import com.intuit.karate.core.ScenarioRuntime;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// Timeout hierarchy above the per-service connect/read timeouts (ResolvedConfig):
+//   -DscenarioTimeout=<seconds>  per top-level scenario, called features included (default 300, 0 = off)
+//   -DsuiteTimeout=<seconds>     whole runSuite, counted from when it starts (default 0 = off)
+// Cancellation is cooperative: DeadlineHttpClient checks the earliest deadline before each request and
+// stops waiting for a response once it passes, failing the step with a message starting with MARKER.
+// Timed-out scenarios are listed in deadlines.properties; the executive summary reports them as TIMEOUT, not FAIL.
+public class Deadlines implements RuntimeHook {
+
+    public static final String MARKER = "[TIMEOUT]";
+    public static final String STATS_FILE = "deadlines.properties";
+
+    // Deadlines of the current run, for HTTP made outside Karate's client (e.g. StreamingValidator)
+    private static volatile Deadlines active;
+
+    final long scenarioTimeoutNanos;
+    final long suiteTimeoutNanos;
+    private final long suiteDeadline;
+
+    final LongAdder scenarioTimeouts = new LongAdder();
+    final LongAdder suiteTimeouts = new LongAdder();
+
+    // classname|scenario name -> deadline that cut it short (same keys as ScenarioLogContext)
+    private final Properties timedOut = new Properties(); // synchronized (Hashtable)
+
+    // Called features run nested on the same thread and share the outer scenario's deadline.
+    // Top-level is Karate's call depth 0, not a before/after counter: a missed afterScenario (e.g. another
+    // hook vetoed the scenario) cannot leave the thread's later scenarios without a deadline.
+    private final ThreadLocal<long[]> scenarioDeadline = ThreadLocal.withInitial(() -> new long[1]);
+    private final ThreadLocal<String[]> expired = ThreadLocal.withInitial(() -> new String[1]);
+
+    // The earliest deadline in force for the current request
+    static final class Budget {
+        final long deadlineNanos;
+        final String label;
+
+        Budget(long deadlineNanos, String label) {
+            this.deadlineNanos = deadlineNanos;
+            this.label = label;
+        }
+
+        long remainingNanos() {
+            return deadlineNanos - System.nanoTime();
+        }
+    }
+
+    Deadlines(long scenarioTimeoutSeconds, long suiteTimeoutSeconds) {
+        if (scenarioTimeoutSeconds < 0) throw new IllegalArgumentException("Invalid -DscenarioTimeout=" + scenarioTimeoutSeconds + " (seconds, 0 = off)");
+        if (suiteTimeoutSeconds < 0) throw new IllegalArgumentException("Invalid -DsuiteTimeout=" + suiteTimeoutSeconds + " (seconds, 0 = off)");
+        this.scenarioTimeoutNanos = TimeUnit.SECONDS.toNanos(scenarioTimeoutSeconds);
+        this.suiteTimeoutNanos = TimeUnit.SECONDS.toNanos(suiteTimeoutSeconds);
+        this.suiteDeadline = suiteTimeoutNanos > 0 ? System.nanoTime() + suiteTimeoutNanos : 0;
+    }
+
+    // null when both deadlines are off
+    public static Deadlines fromSystemProperties() {
+        long scenario = parseSeconds("scenarioTimeout", "300");
+        long suite = parseSeconds("suiteTimeout", "0");
+        return scenario == 0 && suite == 0 ? null : new Deadlines(scenario, suite);
+    }
+
+    // null clears it (deadlines off for this run)
+    public static void activate(Deadlines deadlines) {
+        active = deadlines;
+    }
+
+    static Deadlines active() {
+        return active;
+    }
+
+    private static long parseSeconds(String name, String defaultValue) {
+        String raw = System.getProperty(name, defaultValue).trim();
+        try {
+            return Long.parseLong(raw);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid -D" + name + "=" + raw + " (seconds, 0 = off)");
+        }
+    }
+
+    @Override
+    public boolean beforeScenario(ScenarioRuntime sr) {
+        if (!ScenarioLogContext.isTopLevel(sr)) return true;
+        scenarioDeadline.get()[0] = scenarioTimeoutNanos > 0 ? System.nanoTime() + scenarioTimeoutNanos : 0;
+        expired.get()[0] = null;
+        return true;
+    }
+
+    @Override
+    public void afterScenario(ScenarioRuntime sr) {
+        if (!ScenarioLogContext.isTopLevel(sr)) return;
+        scenarioDeadline.get()[0] = 0;
+
+        String label = expired.get()[0];
+        expired.get()[0] = null;
+        if (label != null && sr.result != null && sr.result.isFailed()) {
+            String classname = ScenarioLogContext.classnameOf(sr.scenario.getFeature().getResource().getRelativePath());
+            timedOut.setProperty("scenario." + classname + "|" + sr.scenario.getName(), label);
+        }
+    }
+
+    // Earliest deadline for the calling thread, null when none applies (e.g. outside a scenario)
+    Budget budget() {
+        long scenario = scenarioDeadline.get()[0];
+        if (scenario != 0 && (suiteDeadline == 0 || scenario - suiteDeadline <= 0)) {
+            return new Budget(scenario, "scenario deadline of " + TimeUnit.NANOSECONDS.toSeconds(scenarioTimeoutNanos) + "s");
+        }
+        if (suiteDeadline != 0) {
+            return new Budget(suiteDeadline, "suite deadline of " + TimeUnit.NANOSECONDS.toSeconds(suiteTimeoutNanos) + "s");
+        }
+        return null;
+    }
+
+    IllegalStateException timeout(Budget budget, String what) {
+        if (budget.label.startsWith("suite")) suiteTimeouts.increment();
+        else scenarioTimeouts.increment();
+        expired.get()[0] = budget.label;
+        return new IllegalStateException(MARKER + " " + budget.label + " exceeded " + what);
+    }
+
+    public void writeStats(Path reportDir) {
+        Properties p = new Properties();
+        p.putAll(timedOut);
+        p.setProperty("scenarioTimeoutSec", String.valueOf(TimeUnit.NANOSECONDS.toSeconds(scenarioTimeoutNanos)));
+        p.setProperty("suiteTimeoutSec", String.valueOf(TimeUnit.NANOSECONDS.toSeconds(suiteTimeoutNanos)));
+        p.setProperty("scenarioTimeouts", String.valueOf(scenarioTimeouts.sum()));
+        p.setProperty("suiteTimeouts", String.valueOf(suiteTimeouts.sum()));
+        try {
+            Files.createDirectories(reportDir);
+            try (OutputStream os = Files.newOutputStream(reportDir.resolve(STATS_FILE))) {
+                p.store(os, "scenario / suite deadlines (0 = off)");
+            }
+        } catch (IOException e) {
+            System.err.println("[Deadlines] Could not write stats: " + e.getMessage());
+        }
+    }
+}
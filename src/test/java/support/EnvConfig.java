@@ -0,0 +1,99 @@
+package support;
+
+import com.intuit.karate.JsonUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Java-side view of classpath:config/<env>.json (the same file karate-config.js reads).
+// Parsed once per env, and again when the file changes (size/mtime, for runner.KarateDaemon).
+public final class EnvConfig {
+
+    private static final Map<String, EnvConfig> CACHE = new ConcurrentHashMap<>();
+
+    private final String env;
+    private final Map<String, Object> root;
+    private final long stamp;
+
+    private EnvConfig(String env, Map<String, Object> root, long stamp) {
+        this.env = env;
+        this.root = root;
+        this.stamp = stamp;
+    }
+
+    public static EnvConfig load(String env) {
+        long stamp = FeatureCache.stamp("config/" + env + ".json");
+        EnvConfig cached = CACHE.get(env);
+        if (cached != null && cached.stamp == stamp) return cached;
+        EnvConfig fresh = read(env, stamp);
+        CACHE.put(env, fresh);
+        return fresh;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static EnvConfig read(String env, long stamp) {
+        String path = "config/" + env + ".json";
+        try (InputStream is = Thread.currentThread().getContextClassLoader().getResourceAsStream(path)) {
+            if (is == null) {
+                throw new IllegalArgumentException("Config file not found: classpath:" + path);
+            }
+            Object parsed = JsonUtils.fromJson(new String(is.readAllBytes(), StandardCharsets.UTF_8));
+            if (!(parsed instanceof Map)) {
+                throw new IllegalArgumentException("Invalid config: expected a JSON object in classpath:" + path);
+            }
+            return new EnvConfig(env, (Map<String, Object>) parsed, stamp);
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not read classpath:" + path, e);
+        }
+    }
+
+    public String env() {
+        return env;
+    }
+
+    public Map<String, Object> root() {
+        return root;
+    }
+
+    @SuppressWarnings("unchecked")
+    public Map<String, Map<String, Object>> services() {
+        Object services = root.get("services");
+        if (!(services instanceof Map)) {
+            throw new IllegalArgumentException("Invalid config: missing 'services' map in config/" + env + ".json");
+        }
+        Map<String, Map<String, Object>> result = new LinkedHashMap<>();
+        ((Map<String, Object>) services).forEach((name, block) -> {
+            if (block instanceof Map) result.put(name, (Map<String, Object>) block);
+        });
+        return result;
+    }
+
+    // ------------ Typed accessors for service blocks ------------
+    static double number(Map<String, Object> block, String key, double defaultValue) {
+        Object v = block.get(key);
+        if (v == null) return defaultValue;
+        if (v instanceof Number) return ((Number) v).doubleValue();
+        try {
+            return Double.parseDouble(v.toString().trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid '" + key + "'=" + v + " (expected a number)");
+        }
+    }
+
+    static int integer(Map<String, Object> block, String key, int defaultValue) {
+        double d = number(block, key, defaultValue);
+        if (d != Math.rint(d)) {
+            throw new IllegalArgumentException("Invalid '" + key + "'=" + block.get(key) + " (expected an integer)");
+        }
+        return (int) d;
+    }
+
+    static String string(Map<String, Object> block, String key, String defaultValue) {
+        Object v = block.get(key);
+        return v == null ? defaultValue : v.toString();
+    }
+}
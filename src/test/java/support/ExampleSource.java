@@ -0,0 +1,386 @@
+package support;
+
+import com.intuit.karate.JsonUtils;
+import com.intuit.karate.RuntimeHook;
+import com.intuit.karate.Suite;
+import com.intuit.karate.core.ScenarioRuntime;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.concurrent.*;
+
+// Lazy example rows for data-driven outlines (ID ranges, CSV, NDJSON) without building an Examples table:
+// a reader thread streams rows into a small bounded queue and Karate pulls them through a generator function,
+// so each row becomes its own scenario spread over the runner threads.
+//
+//   Background:
+//     * def Examples = Java.type('support.ExampleSource')
+//     * def nextUser = function(i){ return Examples.range('user-ids', 'id', 1, 30).row(i) }
+//
+//   Scenario Outline: ...
+//     Given path 'users', id
+//     Examples:
+//       | nextUser |
+//
+// Sources are cached by name (Background runs again for every generated scenario) and start reading on first row.
+// They belong to one run: the Backpressure hook closes whatever is still open when a suite starts and ends, so an
+// outline cut short (failure, deadline, cancelled daemon run) does not leave a half-read source for the next run.
+// Backpressure: at most -DexamplesInFlight rows (default 4 x the runner pool size) are handed to Karate and not yet
+// started; the Backpressure hook (registered by the runners) frees a row's slot when its scenario starts, together with
+// the slots of earlier rows that never will (skipped by tags, vetoed): Karate dispatches generated rows in order.
+// Sharding: shard(i, n) keeps every n-th row, for splitting one dataset over several outlines / CI jobs.
+public final class ExampleSource {
+
+    public static final String SOURCE_COLUMN = "_source";
+    public static final String ROW_COLUMN = "_row";
+
+    private static final Map<String, ExampleSource> OPEN = new ConcurrentHashMap<>();
+    private static final Map<String, Object> END = Collections.emptyMap();
+    private static final int QUEUE_CAPACITY = 256;
+    private static final long MAX_WAIT_SECONDS = 30; // never deadlock the outline on a lost release
+
+    private final String name;
+    private final RowReader reader;
+    private int shardIndex;
+    private int shardCount = 1;
+    private long limit = Long.MAX_VALUE;
+
+    private final BlockingQueue<Map<String, Object>> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+    private final Semaphore inFlight = new Semaphore(maxInFlight());
+    private final NavigableSet<Integer> notStarted = new ConcurrentSkipListSet<>(); // rows holding an inFlight slot
+    private volatile Thread producer;
+    private volatile Exception failure;
+    private int nextIndex;
+
+    // Produces rows in order; returns null at end of data
+    interface RowReader {
+        void open() throws IOException;
+
+        Map<String, Object> next() throws IOException;
+
+        void close();
+    }
+
+    private ExampleSource(String name, RowReader reader) {
+        this.name = name;
+        this.reader = reader;
+    }
+
+    // ------------ Sources ------------
+    // Integers from..to (inclusive) in a single column
+    public static ExampleSource range(String name, String column, long from, long to) {
+        return OPEN.computeIfAbsent(name, n -> new ExampleSource(n, new RangeReader(column, from, to)));
+    }
+
+    // First line is the header; values stay strings
+    public static ExampleSource csv(String name, String path) {
+        return OPEN.computeIfAbsent(name, n -> new ExampleSource(n, new CsvReader(path)));
+    }
+
+    // One JSON object per line; blank lines are skipped
+    public static ExampleSource ndjson(String name, String path) {
+        return OPEN.computeIfAbsent(name, n -> new ExampleSource(n, new NdjsonReader(path)));
+    }
+
+    public synchronized ExampleSource shard(int index, int count) {
+        if (count < 1 || index < 0 || index >= count) {
+            throw new IllegalArgumentException("Invalid shard " + index + "/" + count + " for example source '" + name + "'");
+        }
+        if (producer != null && (index != shardIndex || count != shardCount)) {
+            throw new IllegalStateException("Example source '" + name + "' is already streaming shard " + shardIndex + "/" + shardCount);
+        }
+        this.shardIndex = index;
+        this.shardCount = count;
+        return this;
+    }
+
+    public synchronized ExampleSource limit(long maxRows) {
+        if (producer != null && maxRows != limit) {
+            throw new IllegalStateException("Example source '" + name + "' is already streaming with limit " + limit);
+        }
+        this.limit = maxRows;
+        return this;
+    }
+
+    // ------------ Generator ------------
+    // Karate calls the generator with 0, 1, 2, ...; a null return ends the outline
+    public synchronized Map<String, Object> row(int i) {
+        if (i != nextIndex) {
+            throw new IllegalStateException("Example source '" + name + "' expected row " + nextIndex + " but was asked for " + i
+                    + " (use a distinct source name per outline)");
+        }
+        if (producer == null) start();
+
+        try {
+            boolean slot = inFlight.tryAcquire(MAX_WAIT_SECONDS, TimeUnit.SECONDS);
+            if (!slot) {
+                System.err.println("[ExampleSource] '" + name + "': no row started in " + MAX_WAIT_SECONDS + "s, continuing without backpressure");
+            }
+            Map<String, Object> row = queue.take();
+            if (row == END) {
+                if (slot) inFlight.release();
+                OPEN.remove(name, this); // a later run starts afresh
+                if (failure != null) {
+                    throw new IllegalStateException("Example source '" + name + "' failed after " + nextIndex + " rows: " + failure.getMessage(), failure);
+                }
+                return null;
+            }
+            row.put(ROW_COLUMN, i);
+            if (slot) notStarted.add(i);
+            nextIndex++;
+            return row;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    private void start() {
+        Thread t = new Thread(this::produce, "example-source-" + name);
+        t.setDaemon(true);
+        producer = t;
+        t.start();
+    }
+
+    // Stops the reader thread; rows already handed out are not affected
+    private void close() {
+        Thread t = producer;
+        if (t != null) t.interrupt();
+    }
+
+    // Forgets every open source (the next row(0) of any name starts afresh)
+    static void closeAll() {
+        for (ExampleSource s : OPEN.values()) {
+            if (OPEN.remove(s.name, s)) s.close();
+        }
+    }
+
+    private void produce() {
+        long seen = 0;
+        long emitted = 0;
+        try {
+            reader.open();
+            Map<String, Object> row;
+            while (emitted < limit && (row = reader.next()) != null) {
+                if (seen++ % shardCount != shardIndex) continue;
+                row.put(SOURCE_COLUMN, name);
+                queue.put(row); // blocks while the queue is full
+                emitted++;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            failure = e;
+        } finally {
+            reader.close();
+            try {
+                queue.put(END);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    // Frees the slots of this row and of every earlier row still holding one; each slot is freed once
+    static void started(Map<String, Object> exampleData) {
+        if (exampleData == null) return;
+        Object source = exampleData.get(SOURCE_COLUMN);
+        Object row = exampleData.get(ROW_COLUMN);
+        if (source == null || !(row instanceof Number)) return;
+        ExampleSource s = OPEN.get(source.toString());
+        if (s == null) return;
+        for (Integer earlier : s.notStarted.headSet(((Number) row).intValue(), true)) {
+            if (s.notStarted.remove(earlier)) s.inFlight.release();
+        }
+    }
+
+    static int maxInFlight() {
+        String raw = System.getProperty("examplesInFlight", "").trim();
+        if (!raw.isEmpty()) {
+            try {
+                int n = Integer.parseInt(raw);
+                if (n > 0) return n;
+            } catch (NumberFormatException ignored) {
+                // fall through to the error below
+            }
+            throw new IllegalArgumentException("Invalid -DexamplesInFlight=" + raw + " (expected a positive integer)");
+        }
+        return Math.max(1, AdaptiveConcurrency.poolSize()) * 4;
+    }
+
+    // Frees backpressure slots when generated scenarios start; scopes sources to the suite run
+    public static class Backpressure implements RuntimeHook {
+        @Override
+        public void beforeSuite(Suite suite) {
+            closeAll(); // left over from a run that did not reach afterSuite
+        }
+
+        @Override
+        public boolean beforeScenario(ScenarioRuntime sr) {
+            started(sr.scenario.getExampleData());
+            return true;
+        }
+
+        @Override
+        public void afterSuite(Suite suite) {
+            closeAll();
+        }
+    }
+
+    // ------------ Readers ------------
+    static final class RangeReader implements RowReader {
+        private final String column;
+        private final long to;
+        private long next;
+
+        RangeReader(String column, long from, long to) {
+            if (to < from) throw new IllegalArgumentException("Invalid range " + from + ".." + to);
+            this.column = column;
+            this.next = from;
+            this.to = to;
+        }
+
+        @Override
+        public void open() {
+        }
+
+        @Override
+        public Map<String, Object> next() {
+            if (next > to) return null;
+            Map<String, Object> row = new LinkedHashMap<>();
+            long v = next++;
+            row.put(column, v <= Integer.MAX_VALUE && v >= Integer.MIN_VALUE ? (Object) (int) v : (Object) v);
+            return row;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    abstract static class LineReader implements RowReader {
+        final String path;
+        BufferedReader in;
+
+        LineReader(String path) {
+            this.path = path;
+        }
+
+        @Override
+        public void open() throws IOException {
+            in = new BufferedReader(new InputStreamReader(openStream(path), StandardCharsets.UTF_8), 1 << 16);
+        }
+
+        @Override
+        public void close() {
+            if (in == null) return;
+            try {
+                in.close();
+            } catch (IOException ignored) {
+                // best effort
+            }
+        }
+    }
+
+    static final class CsvReader extends LineReader {
+        private String[] header;
+        private long lineNo;
+
+        CsvReader(String path) {
+            super(path);
+        }
+
+        @Override
+        public Map<String, Object> next() throws IOException {
+            String line;
+            while ((line = in.readLine()) != null) {
+                lineNo++;
+                if (line.isBlank()) continue;
+                List<String> cells = splitCsv(line);
+                if (header == null) {
+                    header = cells.toArray(new String[0]);
+                    continue;
+                }
+                if (cells.size() != header.length) {
+                    throw new IOException(path + ":" + lineNo + ": expected " + header.length + " columns but found " + cells.size());
+                }
+                Map<String, Object> row = new LinkedHashMap<>();
+                for (int i = 0; i < header.length; i++) row.put(header[i], cells.get(i));
+                return row;
+            }
+            return null;
+        }
+
+        // RFC 4180 subset: quoted cells, "" escapes, no embedded newlines
+        static List<String> splitCsv(String line) {
+            List<String> cells = new ArrayList<>();
+            StringBuilder cell = new StringBuilder();
+            boolean quoted = false;
+            for (int i = 0; i < line.length(); i++) {
+                char c = line.charAt(i);
+                if (quoted) {
+                    if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        cell.append('"');
+                        i++;
+                    } else if (c == '"') {
+                        quoted = false;
+                    } else {
+                        cell.append(c);
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                } else if (c == ',') {
+                    cells.add(cell.toString().trim());
+                    cell.setLength(0);
+                } else {
+                    cell.append(c);
+                }
+            }
+            cells.add(cell.toString().trim());
+            return cells;
+        }
+    }
+
+    static final class NdjsonReader extends LineReader {
+        private long lineNo;
+
+        NdjsonReader(String path) {
+            super(path);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public Map<String, Object> next() throws IOException {
+            String line;
+            while ((line = in.readLine()) != null) {
+                lineNo++;
+                if (line.isBlank()) continue;
+                Object parsed = JsonUtils.fromJson(line);
+                if (!(parsed instanceof Map)) {
+                    throw new IOException(path + ":" + lineNo + ": expected a JSON object per line");
+                }
+                return new LinkedHashMap<>((Map<String, Object>) parsed);
+            }
+            return null;
+        }
+    }
+
+    static InputStream openStream(String path) throws IOException {
+        if (path.startsWith("classpath:")) {
+            String cp = path.substring("classpath:".length());
+            InputStream is = Thread.currentThread().getContextClassLoader().getResourceAsStream(cp);
+            if (is == null) throw new IOException("Example data not found: " + path);
+            return is;
+        }
+        Path file = Paths.get(path);
+        if (!Files.isRegularFile(file)) throw new IOException("Example data not found: " + file.toAbsolutePath());
+        return Files.newInputStream(file);
+    }
+}
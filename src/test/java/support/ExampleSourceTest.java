@@ -0,0 +1,94 @@
+package support;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExampleSourceTest {
+
+    @Test
+    void streamsRangeRowsTaggedWithSourceAndRowThenEnds() {
+        ExampleSource source = ExampleSource.range("test-range", "id", 1, 3);
+        try {
+            List<Object> ids = new ArrayList<>();
+            Map<String, Object> row;
+            for (int i = 0; (row = source.row(i)) != null; i++) {
+                assertEquals("test-range", row.get(ExampleSource.SOURCE_COLUMN));
+                assertEquals(i, row.get(ExampleSource.ROW_COLUMN));
+                ExampleSource.started(row);
+                ids.add(row.get("id"));
+            }
+            assertEquals(List.of(1, 2, 3), ids);
+            // Exhausted sources are forgotten: the same name starts afresh
+            assertNotSame(source, ExampleSource.range("test-range", "id", 1, 3));
+        } finally {
+            ExampleSource.closeAll();
+        }
+    }
+
+    @Test
+    void shardAndLimitSelectRows() {
+        ExampleSource source = ExampleSource.range("test-shard", "id", 1, 10).shard(1, 3).limit(2);
+        try {
+            assertEquals(2, source.row(0).get("id"));
+            assertEquals(5, source.row(1).get("id"));
+            assertNull(source.row(2));
+        } finally {
+            ExampleSource.closeAll();
+        }
+        assertThrows(IllegalArgumentException.class, () -> ExampleSource.range("test-bad", "id", 1, 2).shard(3, 3));
+        ExampleSource.closeAll();
+    }
+
+    @Test
+    void rowsMustBeRequestedInOrder() {
+        ExampleSource source = ExampleSource.range("test-order", "id", 1, 3);
+        try {
+            source.row(0);
+            assertThrows(IllegalStateException.class, () -> source.row(2));
+        } finally {
+            ExampleSource.closeAll();
+        }
+    }
+
+    @Test
+    void aStartedRowFreesTheSlotsOfEarlierRowsThatNeverStart() {
+        System.setProperty("examplesInFlight", "2");
+        try {
+            ExampleSource source = ExampleSource.range("test-backpressure", "id", 1, 10);
+            source.row(0); // e.g. skipped by tags: never reaches a hook
+            Map<String, Object> second = source.row(1);
+
+            ExampleSource.started(second);
+            ExampleSource.started(second); // each slot is freed once
+
+            long start = System.nanoTime();
+            source.row(2);
+            source.row(3);
+            assertTrue(TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - start) < 5, "rows 2 and 3 should get the freed slots");
+        } finally {
+            System.clearProperty("examplesInFlight");
+            ExampleSource.closeAll();
+        }
+    }
+
+    @Test
+    void splitsQuotedCsvCells() {
+        assertEquals(List.of("a", "b, c", "say \"hi\"", ""), ExampleSource.CsvReader.splitCsv("a, \"b, c\",\"say \"\"hi\"\"\","));
+    }
+
+    @Test
+    void rejectsInvalidInFlightLimit() {
+        System.setProperty("examplesInFlight", "0");
+        try {
+            assertThrows(IllegalArgumentException.class, ExampleSource::maxInFlight);
+        } finally {
+            System.clearProperty("examplesInFlight");
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package support;
+
+import com.intuit.karate.core.Feature;
+
+import java.io.File;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Parsed features kept across runs in a long-lived JVM (runner.KarateDaemon).
+// An entry is re-parsed when the file behind its classpath path changes (size/mtime).
+public final class FeatureCache {
+
+    private static final Map<String, Entry> CACHE = new ConcurrentHashMap<>();
+    private static final AtomicLong HITS = new AtomicLong();
+    private static final AtomicLong MISSES = new AtomicLong();
+
+    private static final class Entry {
+        final long stamp;
+        final Feature feature;
+
+        Entry(long stamp, Feature feature) {
+            this.stamp = stamp;
+            this.feature = feature;
+        }
+    }
+
+    private FeatureCache() {
+    }
+
+    // classpath:features/... paths (as returned by FeatureIndex.select)
+    public static List<Feature> get(List<String> paths) {
+        List<Feature> features = new ArrayList<>(paths.size());
+        for (String path : paths) {
+            long stamp = stamp(path);
+            Entry e = CACHE.get(path);
+            if (e == null || e.stamp != stamp) {
+                e = new Entry(stamp, Feature.read(path));
+                CACHE.put(path, e);
+                MISSES.incrementAndGet();
+            } else {
+                HITS.incrementAndGet();
+            }
+            features.add(e.feature);
+        }
+        return features;
+    }
+
+    public static long hits() {
+        return HITS.get();
+    }
+
+    public static long misses() {
+        return MISSES.get();
+    }
+
+    // size + mtime of the backing file; 0 when it is not a plain file (e.g. inside a jar)
+    static long stamp(String path) {
+        String cp = path.startsWith("classpath:") ? path.substring("classpath:".length()) : path;
+        URL url = Thread.currentThread().getContextClassLoader().getResource(cp);
+        if (url == null || !"file".equals(url.getProtocol())) return 0;
+        try {
+            File f = new File(url.toURI());
+            return f.lastModified() * 31 + f.length();
+        } catch (URISyntaxException e) {
+            return 0;
+        }
+    }
+}
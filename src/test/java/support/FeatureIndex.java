@@ -0,0 +1,267 @@
+package support;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Tag index over the feature tree, so a runner only hands Karate the features it will execute.
+ * Generated at build time into target/feature-index (see pom.xml) and refreshed incrementally at
+ * runtime: files whose size/mtime did not change are never re-read.
+ */
+public final class FeatureIndex {
+
+    public static final String FEATURES_ROOT = "features/tests";
+    public static final Path DEFAULT_INDEX_FILE = Paths.get("target/feature-index/features.idx");
+
+    // ------------ Index model ------------
+    static final class FeatureEntry {
+        final String classpathPath;   // e.g. classpath:features/tests/dummyjson/users-contract.feature
+        final long size;
+        final long lastModified;
+        final Set<String> featureTags;
+        final List<ScenarioEntry> scenarios;
+
+        FeatureEntry(String classpathPath, long size, long lastModified, Set<String> featureTags, List<ScenarioEntry> scenarios) {
+            this.classpathPath = classpathPath;
+            this.size = size;
+            this.lastModified = lastModified;
+            this.featureTags = featureTags;
+            this.scenarios = scenarios;
+        }
+
+        boolean matchesAll(Collection<String> required) {
+            for (ScenarioEntry sc : scenarios) {
+                Set<String> effective = new HashSet<>(featureTags);
+                effective.addAll(sc.tags);
+                if (effective.containsAll(required)) return true;
+            }
+            return false;
+        }
+    }
+
+    static final class ScenarioEntry {
+        final int line;
+        final Set<String> tags;
+
+        ScenarioEntry(int line, Set<String> tags) {
+            this.line = line;
+            this.tags = tags;
+        }
+    }
+
+    private final Map<String, FeatureEntry> entries; // keyed by classpath path, sorted
+
+    private FeatureIndex(Map<String, FeatureEntry> entries) {
+        this.entries = entries;
+    }
+
+    // ------------ Main (build-time generation) ------------
+    public static void main(String[] args) throws Exception {
+        String root = args != null && args.length > 0 ? args[0] : "target/test-classes/" + FEATURES_ROOT;
+        String out = args != null && args.length > 1 ? args[1] : DEFAULT_INDEX_FILE.toString();
+
+        long start = System.nanoTime();
+        FeatureIndex index = refresh(Paths.get(root).normalize(), Paths.get(out).normalize());
+        long ms = (System.nanoTime() - start) / 1_000_000;
+
+        System.out.println("[FeatureIndex] Indexed " + index.entries.size() + " features in " + ms + " ms: "
+                + Paths.get(out).toAbsolutePath());
+    }
+
+    // ------------ Runtime entry point ------------
+
+    /**
+     * Resolves features/tests from the test classpath and refreshes the index file.
+     * Returns null when the features are not on the filesystem (e.g. packaged in a jar),
+     * in which case the caller should fall back to a plain classpath scan.
+     */
+    public static FeatureIndex forClasspath() {
+        try {
+            URL url = Thread.currentThread().getContextClassLoader().getResource(FEATURES_ROOT);
+            if (url == null || !"file".equals(url.getProtocol())) return null;
+            return refresh(Paths.get(url.toURI()), DEFAULT_INDEX_FILE);
+        } catch (Exception e) {
+            System.err.println("[FeatureIndex] Index unavailable, falling back to full scan: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Returns classpath paths of features having at least one scenario whose effective tags
+     * (feature + scenario) contain every required tag. The full tag expression is still evaluated
+     * by Karate; this only narrows what gets parsed.
+     */
+    public List<String> select(String... requiredTags) {
+        List<String> required = Arrays.stream(requiredTags)
+                .map(FeatureIndex::normalizeTag)
+                .collect(Collectors.toList());
+
+        List<String> selected = new ArrayList<>();
+        for (FeatureEntry e : entries.values()) {
+            if (e.matchesAll(required)) selected.add(e.classpathPath);
+        }
+        return selected;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    // ------------ Build / refresh ------------
+    static FeatureIndex refresh(Path featuresDir, Path indexFile) throws IOException {
+        Path featuresRoot = featuresDir.toAbsolutePath().normalize();
+        if (!Files.isDirectory(featuresRoot)) {
+            throw new IllegalStateException("Features folder not found: " + featuresRoot.toAbsolutePath());
+        }
+
+        Map<String, FeatureEntry> previous = Files.exists(indexFile) ? readIndex(indexFile) : Map.of();
+        Path classpathRoot = classpathRootOf(featuresRoot);
+
+        List<Path> files;
+        try (Stream<Path> s = Files.walk(featuresRoot)) {
+            files = s.filter(p -> p.toString().endsWith(".feature")).collect(Collectors.toList());
+        }
+
+        Map<String, FeatureEntry> current = new TreeMap<>();
+        boolean changed = previous.size() != files.size();
+
+        for (Path f : files) {
+            String cp = "classpath:" + classpathRoot.relativize(f).toString().replace('\\', '/');
+            long size = Files.size(f);
+            long mtime = Files.getLastModifiedTime(f).toMillis();
+
+            FeatureEntry cached = previous.get(cp);
+            if (cached != null && cached.size == size && cached.lastModified == mtime) {
+                current.put(cp, cached);
+            } else {
+                current.put(cp, parseFeature(cp, size, mtime, Files.readAllLines(f, StandardCharsets.UTF_8)));
+                changed = true;
+            }
+        }
+
+        if (changed || !Files.exists(indexFile)) {
+            writeIndex(indexFile, current);
+        }
+        return new FeatureIndex(current);
+    }
+
+    // Lightweight Gherkin scan: only tag lines and Scenario/Examples headers matter here.
+    static FeatureEntry parseFeature(String cp, long size, long mtime, List<String> lines) {
+        Set<String> featureTags = new LinkedHashSet<>();
+        List<ScenarioEntry> scenarios = new ArrayList<>();
+        Set<String> pending = new LinkedHashSet<>();
+        ScenarioEntry currentOutline = null;
+
+        for (int i = 0; i < lines.size(); i++) {
+            String line = lines.get(i).trim();
+            if (line.isEmpty() || line.startsWith("#")) continue;
+
+            if (line.startsWith("@")) {
+                for (String token : stripComment(line).split("\\s+")) {
+                    if (token.startsWith("@")) pending.add(normalizeTag(token));
+                }
+            } else if (line.startsWith("Feature:")) {
+                featureTags.addAll(pending);
+                pending.clear();
+            } else if (line.startsWith("Scenario:") || line.startsWith("Scenario Outline:")) {
+                ScenarioEntry sc = new ScenarioEntry(i + 1, new LinkedHashSet<>(pending));
+                scenarios.add(sc);
+                currentOutline = line.startsWith("Scenario Outline:") ? sc : null;
+                pending.clear();
+            } else if (line.startsWith("Examples:")) {
+                // Examples tags widen the outline: over-selecting is safe, Karate filters again
+                if (currentOutline != null) currentOutline.tags.addAll(pending);
+                pending.clear();
+            } else if (line.startsWith("Background:")) {
+                pending.clear();
+            }
+        }
+        return new FeatureEntry(cp, size, mtime, featureTags, scenarios);
+    }
+
+    // ------------ Index file format ------------
+    // F<TAB>classpath<TAB>size<TAB>mtime<TAB>featureTags
+    // S<TAB>line<TAB>scenarioTags
+    static Map<String, FeatureEntry> readIndex(Path indexFile) {
+        Map<String, FeatureEntry> map = new TreeMap<>();
+        try {
+            String cp = null;
+            long size = 0, mtime = 0;
+            Set<String> tags = null;
+            List<ScenarioEntry> scenarios = null;
+
+            for (String line : Files.readAllLines(indexFile, StandardCharsets.UTF_8)) {
+                String[] parts = line.split("\t", -1);
+                if (parts.length >= 5 && "F".equals(parts[0])) {
+                    if (cp != null) map.put(cp, new FeatureEntry(cp, size, mtime, tags, scenarios));
+                    cp = parts[1];
+                    size = Long.parseLong(parts[2]);
+                    mtime = Long.parseLong(parts[3]);
+                    tags = splitTags(parts[4]);
+                    scenarios = new ArrayList<>();
+                } else if (parts.length >= 3 && "S".equals(parts[0]) && scenarios != null) {
+                    scenarios.add(new ScenarioEntry(Integer.parseInt(parts[1]), splitTags(parts[2])));
+                }
+            }
+            if (cp != null) map.put(cp, new FeatureEntry(cp, size, mtime, tags, scenarios));
+        } catch (Exception e) {
+            // Corrupt/old index: rebuild from scratch
+            return Map.of();
+        }
+        return map;
+    }
+
+    static void writeIndex(Path indexFile, Map<String, FeatureEntry> entries) throws IOException {
+        Path parent = indexFile.getParent();
+        if (parent != null) Files.createDirectories(parent);
+
+        // Write to a temp file first so parallel runners never read a half-written index
+        Path tmp = Files.createTempFile(parent != null ? parent : Paths.get("."), "features", ".idx.tmp");
+        try (BufferedWriter w = Files.newBufferedWriter(tmp, StandardCharsets.UTF_8)) {
+            for (FeatureEntry e : entries.values()) {
+                w.write("F\t" + e.classpathPath + "\t" + e.size + "\t" + e.lastModified + "\t" + String.join(",", e.featureTags));
+                w.newLine();
+                for (ScenarioEntry sc : e.scenarios) {
+                    w.write("S\t" + sc.line + "\t" + String.join(",", sc.tags));
+                    w.newLine();
+                }
+            }
+        }
+        Files.move(tmp, indexFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    // ------------ Helpers ------------
+    static Path classpathRootOf(Path featuresRoot) {
+        // features/tests -> two levels up is the classpath root
+        Path root = featuresRoot;
+        for (int i = 0; i < Paths.get(FEATURES_ROOT).getNameCount() && root.getParent() != null; i++) {
+            root = root.getParent();
+        }
+        return root;
+    }
+
+    static Set<String> splitTags(String csv) {
+        Set<String> set = new LinkedHashSet<>();
+        if (csv == null || csv.isBlank()) return set;
+        for (String t : csv.split(",")) {
+            if (!t.isBlank()) set.add(t.trim());
+        }
+        return set;
+    }
+
+    static String stripComment(String line) {
+        int hash = line.indexOf(" #");
+        return hash >= 0 ? line.substring(0, hash) : line;
+    }
+
+    static String normalizeTag(String tag) {
+        String t = tag.trim();
+        return t.startsWith("@") ? t.substring(1) : t;
+    }
+}
@@ -0,0 +1,95 @@
+package support;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FeatureIndexTest {
+
+    @TempDir
+    Path tmp;
+
+    @Test
+    void parsesFeatureScenarioAndExamplesTags() {
+        FeatureIndex.FeatureEntry e = FeatureIndex.parseFeature("classpath:features/tests/a.feature", 1, 1, List.of(
+                "@smoke @svc_dummyjson # owner: qa",
+                "Feature: users",
+                "",
+                "Background:",
+                "  * url baseUrl",
+                "",
+                "  @contract",
+                "  Scenario: list users",
+                "    * print 'hi'",
+                "",
+                "  Scenario Outline: by id",
+                "    * print id",
+                "    @regression",
+                "    Examples:",
+                "      | id |"));
+
+        assertEquals(Set.of("smoke", "svc_dummyjson"), e.featureTags);
+        assertEquals(2, e.scenarios.size());
+        assertEquals(8, e.scenarios.get(0).line);
+        assertEquals(Set.of("contract"), e.scenarios.get(0).tags);
+        assertEquals(Set.of("regression"), e.scenarios.get(1).tags);
+    }
+
+    @Test
+    void selectsFeaturesWhoseScenariosCarryEveryTag() throws Exception {
+        FeatureIndex index = indexOf(
+                "users.feature", "@svc_dummyjson\nFeature: users\n@smoke\nScenario: a\n@regression\nScenario: b\n",
+                "echo.feature", "@svc_postmanEcho\nFeature: echo\n@smoke\nScenario: a\n");
+
+        assertEquals(List.of("classpath:features/tests/users.feature"), index.select("@smoke", "@svc_dummyjson"));
+        assertEquals(2, index.select("smoke").size());
+        // Tags split across scenarios do not match: each scenario must carry all of them
+        assertEquals(List.of(), index.select("@smoke", "@regression"));
+    }
+
+    @Test
+    void selectsNothingForUnknownTagsSoRunnersFallBackToAFullScan() throws Exception {
+        FeatureIndex index = indexOf("users.feature", "@svc_dummyjson\nFeature: users\nScenario: a\n");
+
+        // An empty selection is the runners' signal to hand Karate the whole features tree
+        assertTrue(index.select("@smoke", "@svc_nope").isEmpty());
+    }
+
+    @Test
+    void reusesUnchangedEntriesAndRebuildsCorruptIndexes() throws Exception {
+        Path idx = tmp.resolve("out/features.idx");
+        indexOf("users.feature", "@smoke\nFeature: users\nScenario: a\n");
+        FeatureIndex first = FeatureIndex.refresh(tmp.resolve("classes/features/tests"), idx);
+        assertEquals(1, FeatureIndex.readIndex(idx).size());
+
+        Files.writeString(idx, "F\tclasspath:x\tnot-a-number\t0\t\n", StandardCharsets.UTF_8);
+        assertTrue(FeatureIndex.readIndex(idx).isEmpty());
+
+        FeatureIndex again = FeatureIndex.refresh(tmp.resolve("classes/features/tests"), idx);
+        assertEquals(first.select("smoke"), again.select("smoke"));
+        assertEquals(1, FeatureIndex.readIndex(idx).size());
+    }
+
+    @Test
+    void rejectsMissingFeaturesFolder() {
+        assertThrows(IllegalStateException.class,
+                () -> FeatureIndex.refresh(tmp.resolve("missing"), tmp.resolve("features.idx")));
+    }
+
+    // name/content pairs under <tmp>/classes/features/tests
+    private FeatureIndex indexOf(String... files) throws Exception {
+        Path root = tmp.resolve("classes").resolve(FeatureIndex.FEATURES_ROOT);
+        Files.createDirectories(root);
+        for (int i = 0; i < files.length; i += 2) {
+            Files.writeString(root.resolve(files[i]), files[i + 1], StandardCharsets.UTF_8);
+        }
+        return FeatureIndex.refresh(root, tmp.resolve("index/features.idx"));
+    }
+}
@@ -0,0 +1,78 @@
+package support;
+
+import jdk.jfr.*;
+
+// Custom Flight Recorder events for the Karate hot path (see JfrProfiler).
+// Every event carries env/service labels so recordings from Jenkins pods can be compared.
+public final class JfrEvents {
+
+    private JfrEvents() {
+    }
+
+    @Category({"Karate"})
+    @StackTrace(false)
+    abstract static class KarateEvent extends Event {
+        @Label("Env")
+        String env;
+
+        @Label("Service")
+        String service;
+
+        @Label("Name")
+        String name;
+    }
+
+    @Name("karate.Suite")
+    @Label("Karate Suite")
+    public static class SuiteEvent extends KarateEvent {
+        @Label("Suite")
+        String suite;
+
+        @Label("Threads")
+        int threads;
+    }
+
+    @Name("karate.Feature")
+    @Label("Karate Feature")
+    public static class FeatureEvent extends KarateEvent {
+        @Label("Failed")
+        boolean failed;
+    }
+
+    @Name("karate.Scenario")
+    @Label("Karate Scenario")
+    public static class ScenarioEvent extends KarateEvent {
+        @Label("Feature")
+        String feature;
+
+        @Label("Failed")
+        boolean failed;
+    }
+
+    @Name("karate.Step")
+    @Label("Karate Step")
+    public static class StepEvent extends KarateEvent {
+        @Label("Feature")
+        String feature;
+
+        @Label("Line")
+        int line;
+    }
+
+    @Name("karate.HttpCall")
+    @Label("Karate HTTP Call")
+    public static class HttpCallEvent extends KarateEvent {
+        @Label("Method")
+        String method;
+
+        @Label("URL")
+        String url;
+
+        @Label("Status")
+        int status;
+
+        @Label("Response Bytes")
+        @DataAmount
+        long responseBytes;
+    }
+}
@@ -0,0 +1,168 @@
+package support;
+
+import com.intuit.karate.RuntimeHook;
+import com.intuit.karate.core.FeatureRuntime;
+import com.intuit.karate.core.ScenarioRuntime;
+import com.intuit.karate.core.Step;
+import com.intuit.karate.core.StepResult;
+import com.intuit.karate.http.HttpRequest;
+import com.intuit.karate.http.Response;
+import jdk.jfr.Recording;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Opt-in profiling for a suite run: -Dprofile=jfr
+// Starts an in-process JFR recording, emits JfrEvents from Karate hooks and dumps
+// <reportDir>/karate-profile.jfr (picked up by the executive summary as a hotspot table).
+public class JfrProfiler implements RuntimeHook {
+
+    public static final String RECORDING_FILE = "karate-profile.jfr";
+
+    private final String env;
+    private final String service;
+    private final Path output;
+    private final Recording recording;
+    private final JfrEvents.SuiteEvent suiteEvent;
+
+    // Hooks are shared by all runner threads: keep in-flight events per scenario / per thread
+    private final Map<ScenarioRuntime, JfrEvents.ScenarioEvent> scenarios = new ConcurrentHashMap<>();
+    private final Map<FeatureRuntime, JfrEvents.FeatureEvent> features = new ConcurrentHashMap<>();
+    private final ThreadLocal<Deque<JfrEvents.StepEvent>> steps = ThreadLocal.withInitial(ArrayDeque::new);
+    private final ThreadLocal<JfrEvents.HttpCallEvent> httpCall = new ThreadLocal<>();
+
+    private JfrProfiler(String suiteName, String env, String service, int threads, Path reportDir) {
+        this.env = env;
+        this.service = service;
+        this.output = reportDir.resolve(RECORDING_FILE);
+
+        this.recording = new Recording();
+        recording.setName("karate-" + suiteName + "-" + env + "-" + service);
+        recording.enable(JfrEvents.SuiteEvent.class);
+        recording.enable(JfrEvents.FeatureEvent.class);
+        recording.enable(JfrEvents.ScenarioEvent.class);
+        recording.enable(JfrEvents.StepEvent.class);
+        recording.enable(JfrEvents.HttpCallEvent.class);
+        recording.enable("jdk.GarbageCollection");
+        recording.start();
+
+        this.suiteEvent = new JfrEvents.SuiteEvent();
+        suiteEvent.env = env;
+        suiteEvent.service = service;
+        suiteEvent.name = suiteName;
+        suiteEvent.suite = suiteName;
+        suiteEvent.threads = threads;
+        suiteEvent.begin();
+    }
+
+    // Returns null unless -Dprofile=jfr is set
+    public static JfrProfiler startIfEnabled(String suiteName, String env, String service, int threads, Path reportDir) {
+        String profile = System.getProperty("profile", "").trim();
+        if (!"jfr".equalsIgnoreCase(profile)) return null;
+        return new JfrProfiler(suiteName, env, service, threads, reportDir);
+    }
+
+    // Never fails the run: a missing recording only means no hotspot table
+    public void stop() {
+        suiteEvent.commit();
+        try {
+            recording.stop();
+            Files.createDirectories(output.getParent());
+            recording.dump(output);
+            System.out.println("[JfrProfiler] Recording: " + output.toAbsolutePath());
+        } catch (IOException e) {
+            System.err.println("[JfrProfiler] Could not write recording: " + e.getMessage());
+        } finally {
+            recording.close();
+        }
+    }
+
+    // ------------ Hooks ------------
+    @Override
+    public boolean beforeFeature(FeatureRuntime fr) {
+        JfrEvents.FeatureEvent e = new JfrEvents.FeatureEvent();
+        e.env = env;
+        e.service = service;
+        e.name = fr.feature.getResource().getRelativePath();
+        e.begin();
+        features.put(fr, e);
+        return true;
+    }
+
+    @Override
+    public void afterFeature(FeatureRuntime fr) {
+        JfrEvents.FeatureEvent e = features.remove(fr);
+        if (e == null) return;
+        e.failed = fr.result.isFailed();
+        e.commit();
+    }
+
+    @Override
+    public boolean beforeScenario(ScenarioRuntime sr) {
+        JfrEvents.ScenarioEvent e = new JfrEvents.ScenarioEvent();
+        e.env = env;
+        e.service = service;
+        e.name = sr.scenario.getName();
+        e.feature = sr.scenario.getFeature().getResource().getRelativePath();
+        e.begin();
+        scenarios.put(sr, e);
+        return true;
+    }
+
+    @Override
+    public void afterScenario(ScenarioRuntime sr) {
+        JfrEvents.ScenarioEvent e = scenarios.remove(sr);
+        if (e == null) return;
+        e.failed = sr.result.isFailed();
+        e.commit();
+    }
+
+    @Override
+    public boolean beforeStep(Step step, ScenarioRuntime sr) {
+        JfrEvents.StepEvent e = new JfrEvents.StepEvent();
+        e.env = env;
+        e.service = service;
+        e.name = step.getPrefix() + " " + step.getText();
+        e.feature = sr.scenario.getFeature().getResource().getRelativePath();
+        e.line = step.getLine();
+        e.begin();
+        steps.get().push(e); // called features nest steps on the same thread
+        return true;
+    }
+
+    @Override
+    public void afterStep(StepResult result, ScenarioRuntime sr) {
+        JfrEvents.StepEvent e = steps.get().poll();
+        if (e != null) e.commit();
+    }
+
+    @Override
+    public void beforeHttpCall(HttpRequest request, ScenarioRuntime sr) {
+        JfrEvents.HttpCallEvent e = new JfrEvents.HttpCallEvent();
+        e.env = env;
+        e.service = service;
+        e.method = request.getMethod();
+        e.url = request.getUrl();
+        e.name = e.method + " " + e.url;
+        e.begin();
+        httpCall.set(e);
+    }
+
+    @Override
+    public void afterHttpCall(HttpRequest request, Response response, ScenarioRuntime sr) {
+        JfrEvents.HttpCallEvent e = httpCall.get();
+        httpCall.remove();
+        if (e == null) return;
+        if (response != null) {
+            e.status = response.getStatus();
+            byte[] body = response.getBody();
+            e.responseBytes = body == null ? 0 : body.length;
+        }
+        e.commit();
+    }
+}
@@ -0,0 +1,262 @@
+package support;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+// Minimal pull-style JSON reader for large responses: walks the root object, streams the
+// elements of one array field to a callback (one element materialized at a time) and keeps
+// only top-level scalars (e.g. total / skip / limit). Everything else is skipped unread.
+final class JsonStreamReader {
+
+    private final Reader in;
+    private final char[] buf = new char[8192];
+    private int pos;
+    private int len;
+    private long charsRead;
+
+    JsonStreamReader(Reader in) {
+        this.in = in;
+    }
+
+    long charsRead() {
+        return charsRead;
+    }
+
+    // Returns top-level scalar fields; elements of arrayField go to onElement
+    Map<String, Object> streamArrayField(String arrayField, Consumer<Object> onElement) throws IOException {
+        Map<String, Object> scalars = new LinkedHashMap<>();
+        expect('{');
+        if (peek() == '}') {
+            next();
+            return scalars;
+        }
+        while (true) {
+            String key = readString();
+            expect(':');
+            int c = peek();
+            if (key.equals(arrayField) && c == '[') {
+                next();
+                if (peek() == ']') {
+                    next();
+                } else {
+                    while (true) {
+                        onElement.accept(readValue());
+                        int sep = next();
+                        if (sep == ']') break;
+                        if (sep != ',') throw error("expected ',' or ']' in array '" + arrayField + "'");
+                    }
+                }
+            } else if (c == '{' || c == '[') {
+                skipValue();
+            } else {
+                scalars.put(key, readValue());
+            }
+            int sep = next();
+            if (sep == '}') break;
+            if (sep != ',') throw error("expected ',' or '}' in root object");
+        }
+        return scalars;
+    }
+
+    // ------------ Values ------------
+    Object readValue() throws IOException {
+        int c = peek();
+        switch (c) {
+            case '{': {
+                next();
+                Map<String, Object> map = new LinkedHashMap<>();
+                if (peek() == '}') {
+                    next();
+                    return map;
+                }
+                while (true) {
+                    String key = readString();
+                    expect(':');
+                    map.put(key, readValue());
+                    int sep = next();
+                    if (sep == '}') return map;
+                    if (sep != ',') throw error("expected ',' or '}'");
+                }
+            }
+            case '[': {
+                next();
+                List<Object> list = new ArrayList<>();
+                if (peek() == ']') {
+                    next();
+                    return list;
+                }
+                while (true) {
+                    list.add(readValue());
+                    int sep = next();
+                    if (sep == ']') return list;
+                    if (sep != ',') throw error("expected ',' or ']'");
+                }
+            }
+            case '"':
+                return readString();
+            case 't':
+                literal("true");
+                return Boolean.TRUE;
+            case 'f':
+                literal("false");
+                return Boolean.FALSE;
+            case 'n':
+                literal("null");
+                return null;
+            default:
+                return readNumber();
+        }
+    }
+
+    // Skips a value without building objects
+    void skipValue() throws IOException {
+        int c = peek();
+        if (c == '"') {
+            skipString();
+            return;
+        }
+        if (c != '{' && c != '[') {
+            readValue();
+            return;
+        }
+        int depth = 0;
+        do {
+            c = nextRaw();
+            if (c == '"') {
+                pos--; // let skipString consume the quote
+                skipString();
+            } else if (c == '{' || c == '[') {
+                depth++;
+            } else if (c == '}' || c == ']') {
+                depth--;
+            } else if (c < 0) {
+                throw error("unexpected end of input");
+            }
+        } while (depth > 0);
+    }
+
+    private String readString() throws IOException {
+        expect('"');
+        StringBuilder sb = new StringBuilder();
+        while (true) {
+            int c = nextRaw();
+            if (c < 0) throw error("unterminated string");
+            if (c == '"') return sb.toString();
+            if (c == '\\') {
+                int e = nextRaw();
+                switch (e) {
+                    case 'n': sb.append('\n'); break;
+                    case 't': sb.append('\t'); break;
+                    case 'r': sb.append('\r'); break;
+                    case 'b': sb.append('\b'); break;
+                    case 'f': sb.append('\f'); break;
+                    case 'u': {
+                        char[] hex = new char[4];
+                        for (int i = 0; i < 4; i++) hex[i] = (char) nextRaw();
+                        sb.append((char) Integer.parseInt(new String(hex), 16));
+                        break;
+                    }
+                    default: sb.append((char) e);
+                }
+            } else {
+                sb.append((char) c);
+            }
+        }
+    }
+
+    private void skipString() throws IOException {
+        expect('"');
+        while (true) {
+            int c = nextRaw();
+            if (c < 0) throw error("unterminated string");
+            if (c == '"') return;
+            if (c == '\\') nextRaw();
+        }
+    }
+
+    private Number readNumber() throws IOException {
+        StringBuilder sb = new StringBuilder(16);
+        boolean decimal = false;
+        while (true) {
+            int c = peekRaw();
+            if ((c >= '0' && c <= '9') || c == '-' || c == '+') {
+                sb.append((char) nextRaw());
+            } else if (c == '.' || c == 'e' || c == 'E') {
+                decimal = true;
+                sb.append((char) nextRaw());
+            } else {
+                break;
+            }
+        }
+        if (sb.length() == 0) throw error("unexpected character '" + (char) peekRaw() + "'");
+        String s = sb.toString();
+        if (!decimal) {
+            try {
+                return Long.parseLong(s);
+            } catch (NumberFormatException ignored) {
+                // too large for long
+            }
+        }
+        return Double.parseDouble(s);
+    }
+
+    private void literal(String word) throws IOException {
+        for (int i = 0; i < word.length(); i++) {
+            if (nextRaw() != word.charAt(i)) throw error("expected '" + word + "'");
+        }
+    }
+
+    // ------------ Char level ------------
+    private int peek() throws IOException {
+        skipWs();
+        return peekRaw();
+    }
+
+    private int next() throws IOException {
+        skipWs();
+        return nextRaw();
+    }
+
+    private void expect(char expected) throws IOException {
+        int c = next();
+        if (c != expected) throw error("expected '" + expected + "' but found " + (c < 0 ? "end of input" : "'" + (char) c + "'"));
+    }
+
+    private void skipWs() throws IOException {
+        while (true) {
+            int c = peekRaw();
+            if (c == ' ' || c == '\n' || c == '\r' || c == '\t') pos++;
+            else return;
+        }
+    }
+
+    private int peekRaw() throws IOException {
+        if (pos >= len && !fill()) return -1;
+        return buf[pos];
+    }
+
+    private int nextRaw() throws IOException {
+        if (pos >= len && !fill()) return -1;
+        return buf[pos++];
+    }
+
+    private boolean fill() throws IOException {
+        len = in.read(buf, 0, buf.length);
+        pos = 0;
+        if (len <= 0) {
+            len = 0;
+            return false;
+        }
+        charsRead += len;
+        return true;
+    }
+
+    private IOException error(String message) {
+        return new IOException("Invalid JSON near char " + (charsRead - len + pos) + ": " + message);
+    }
+}
@@ -0,0 +1,104 @@
+package support;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JsonStreamReaderTest {
+
+    private static final String PAGE = "{\n"
+            + "  \"meta\": {\"note\": \"skip ] } [ { \\\" me\", \"tags\": [[1, 2], {\"a\": \"]\"}]},\n"
+            + "  \"users\": [\n"
+            + "    {\"id\": 1, \"name\": \"Ann \\\"A\\\" \\u00c1lvarez\", \"path\": \"C:\\\\tmp\\/x\", \"address\": {\"geo\": [1.5, -2e3]}},\n"
+            + "    {\"id\": 2, \"name\": \"Bob\\nLine\", \"active\": false, \"manager\": null, \"roles\": []}\n"
+            + "  ],\n"
+            + "  \"total\": 208, \"skip\": 0, \"limit\": 2, \"big\": 12345678901234567890, \"label\": \"{not an object}\"\n"
+            + "}";
+
+    @Test
+    void streamsNestedAndEscapedElementsAndKeepsTopLevelScalars() throws IOException {
+        List<Object> users = new ArrayList<>();
+        Map<String, Object> scalars = new JsonStreamReader(new StringReader(PAGE)).streamArrayField("users", users::add);
+
+        assertEquals(2, users.size());
+        Map<?, ?> ann = (Map<?, ?>) users.get(0);
+        assertEquals(1L, ann.get("id"));
+        assertEquals("Ann \"A\" \u00c1lvarez", ann.get("name"));
+        assertEquals("C:\\tmp/x", ann.get("path"));
+        assertEquals(List.of(1.5, -2000.0), ((Map<?, ?>) ann.get("address")).get("geo"));
+
+        Map<?, ?> bob = (Map<?, ?>) users.get(1);
+        assertEquals("Bob\nLine", bob.get("name"));
+        assertEquals(Boolean.FALSE, bob.get("active"));
+        assertTrue(bob.containsKey("manager"));
+        assertNull(bob.get("manager"));
+        assertEquals(List.of(), bob.get("roles"));
+
+        // Nested "meta" object is skipped, not kept as a scalar
+        assertEquals(List.of("total", "skip", "limit", "big", "label"), List.copyOf(scalars.keySet()));
+        assertEquals(208L, scalars.get("total"));
+        assertEquals(1.2345678901234567E19, scalars.get("big"));
+        assertEquals("{not an object}", scalars.get("label"));
+    }
+
+    @Test
+    void sameResultWhenTheInputArrivesOneCharAtATime() throws IOException {
+        List<Object> whole = new ArrayList<>();
+        new JsonStreamReader(new StringReader(PAGE)).streamArrayField("users", whole::add);
+
+        List<Object> trickled = new ArrayList<>();
+        JsonStreamReader reader = new JsonStreamReader(new OneCharReader(PAGE));
+        reader.streamArrayField("users", trickled::add);
+
+        assertEquals(whole, trickled);
+        assertEquals(PAGE.length(), reader.charsRead());
+    }
+
+    @Test
+    void handlesEmptyRootAndEmptyArray() throws IOException {
+        assertEquals(Map.of(), new JsonStreamReader(new StringReader(" { } ")).streamArrayField("users", e -> fail("no elements")));
+
+        Map<String, Object> scalars = new JsonStreamReader(new StringReader("{\"users\": [ ], \"total\": 0}"))
+                .streamArrayField("users", e -> fail("no elements"));
+        assertEquals(Map.of("total", 0L), scalars);
+    }
+
+    @Test
+    void reportsTruncatedAndMalformedInput() {
+        IOException truncated = assertThrows(IOException.class, () -> new JsonStreamReader(new StringReader("{\"users\": [{\"id\": 1}, {\"id\""))
+                .streamArrayField("users", e -> { }));
+        assertTrue(truncated.getMessage().startsWith("Invalid JSON near char"), truncated.getMessage());
+
+        assertThrows(IOException.class, () -> new JsonStreamReader(new StringReader("[1, 2]")).streamArrayField("users", e -> { }));
+        assertThrows(IOException.class, () -> new JsonStreamReader(new StringReader("{\"users\": [1 2]}")).streamArrayField("users", e -> { }));
+        assertThrows(IOException.class, () -> new JsonStreamReader(new StringReader("{\"meta\": {\"a\": \"open")).streamArrayField("users", e -> { }));
+    }
+
+    // Forces every token across a buffer refill
+    private static final class OneCharReader extends Reader {
+        private final String s;
+        private int i;
+
+        OneCharReader(String s) {
+            this.s = s;
+        }
+
+        @Override
+        public int read(char[] cbuf, int off, int len) {
+            if (i >= s.length()) return -1;
+            cbuf[off] = s.charAt(i++);
+            return 1;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package support;
+
+import com.intuit.karate.core.Config;
+import com.intuit.karate.core.Scenario;
+import com.intuit.karate.core.ScenarioEngine;
+import com.intuit.karate.core.Tag;
+import com.intuit.karate.http.HttpClient;
+import com.intuit.karate.http.HttpClientFactory;
+import com.intuit.karate.http.HttpRequest;
+import com.intuit.karate.http.Response;
+
+import java.util.List;
+
+// Wraps Karate's HTTP client so GETs of scenarios tagged @memo (on the scenario or its feature)
+// go through the run's ResponseMemo. Sits outside ThrottledHttpClient: cache hits cost no rate tokens.
+public class MemoHttpClient implements HttpClient {
+
+    public static final String TAG = "memo";
+
+    private final HttpClient delegate;
+    private final ResponseMemo memo;
+    private final ScenarioEngine engine;
+    private Boolean tagged; // resolved on first request, the runtime is not wired yet at create()
+
+    public MemoHttpClient(HttpClient delegate, ResponseMemo memo, ScenarioEngine engine) {
+        this.delegate = delegate;
+        this.memo = memo;
+        this.engine = engine;
+    }
+
+    public static HttpClientFactory factory(HttpClientFactory delegate, ResponseMemo memo) {
+        return engine -> new MemoHttpClient(delegate.create(engine), memo, engine);
+    }
+
+    @Override
+    public void setConfig(Config config) {
+        delegate.setConfig(config);
+    }
+
+    @Override
+    public Config getConfig() {
+        return delegate.getConfig();
+    }
+
+    @Override
+    public Response invoke(HttpRequest request) {
+        if (!ResponseMemo.memoizable(request) || !tagged()) return delegate.invoke(request);
+        long start = System.currentTimeMillis();
+        Response response = memo.get(request, () -> delegate.invoke(request));
+        if (request.getEndTime() == 0) {
+            // Served from the memo or another scenario's fetch: the delegate never stamped this request,
+            // so record the wait for Karate's responseTime and the JSON report timings
+            request.setStartTime(start);
+            request.setEndTime(System.currentTimeMillis());
+        }
+        return response;
+    }
+
+    private boolean tagged() {
+        if (tagged == null) {
+            Scenario scenario = engine == null || engine.runtime == null ? null : engine.runtime.scenario;
+            tagged = scenario != null
+                    && (hasTag(scenario.getTags()) || (scenario.getFeature() != null && hasTag(scenario.getFeature().getTags())));
+        }
+        return tagged;
+    }
+
+    private static boolean hasTag(List<Tag> tags) {
+        if (tags == null) return false;
+        for (Tag t : tags) {
+            if (TAG.equals(t.getName())) return true;
+        }
+        return false;
+    }
+}
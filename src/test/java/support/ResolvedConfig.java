@@ -0,0 +1,183 @@
+package support;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+// The variables karate-config.js hands to every scenario, resolved and validated once per run
+// (per env/service/retry settings) instead of once per scenario:
+//   - everything in classpath:config/<env>.json
+//   - env, service, baseUrl, serviceConfig, commonHeaders, schemas, retry, timeouts
+//
+// The cached view is read-only (nested maps/lists included), so threads can share it safely;
+// karate-config.js hands each scenario a mutable deep copy (copy()), so features may still
+// add to serviceConfig, commonHeaders, etc. without affecting other scenarios.
+// Runners call reload() at the start of each run: a resolution built from a config/<env>.json or
+// config/schemas/<service>.json that has changed since is dropped (long-lived JVM: runner.KarateDaemon).
+//
+// Retry convention:
+//   -Dretries=1  => 1 attempt total (NO retry)
+//   -Dretries=2  => 2 attempts total (1 retry)
+//   -Dretries=3  => 3 attempts total (2 retries)
+// NOTE: If you use "retry until ..." in a feature, retries MUST be >= 1,
+// otherwise Karate will fail with "too many retry attempts: 0".
+//
+// Timeouts (per service block, milliseconds): connectTimeoutMs (default 10000), readTimeoutMs (default 30000).
+// Scenario / suite deadlines sit on top of these (see Deadlines).
+public final class ResolvedConfig {
+
+    private static final Map<String, ResolvedConfig> CACHE = new ConcurrentHashMap<>();
+
+    private final Map<String, Object> variables;
+    private final Map<String, Object> retry;
+    private final Map<String, Object> timeouts;
+    private final EnvConfig envConfig;   // sources, to detect edits (reload)
+    private final SchemaRegistry schemas;
+
+    private ResolvedConfig(Map<String, Object> variables, Map<String, Object> retry, Map<String, Object> timeouts,
+                           EnvConfig envConfig, SchemaRegistry schemas) {
+        this.variables = variables;
+        this.retry = retry;
+        this.timeouts = timeouts;
+        this.envConfig = envConfig;
+        this.schemas = schemas;
+    }
+
+    // ------------ Entry points (karate-config.js / runners) ------------
+    public static Map<String, Object> get() {
+        return current().variables;
+    }
+
+    // Per-scenario mutable copy of get(): JSON-like data only, so it stays cheap
+    @SuppressWarnings("unchecked")
+    public static Map<String, Object> copy() {
+        return (Map<String, Object>) thaw(current().variables);
+    }
+
+    public static Map<String, Object> retry() {
+        return current().retry;
+    }
+
+    // { connect: ms, read: ms } for karate.configure('connectTimeout' / 'readTimeout')
+    public static Map<String, Object> timeouts() {
+        return current().timeouts;
+    }
+
+    // current(), after dropping resolutions whose config or schema file changed (once per run, not per scenario)
+    public static ResolvedConfig reload() {
+        CACHE.values().removeIf(c -> c.envConfig != EnvConfig.load(c.envConfig.env())
+                || c.schemas != SchemaRegistry.forService(String.valueOf(c.variables.get("service"))));
+        return current();
+    }
+
+    // Resolves from system properties; throws IllegalArgumentException with the same hints karate-config.js used to give
+    public static ResolvedConfig current() {
+        String env = System.getProperty("karate.env", "dev").trim();
+        if (env.isEmpty()) env = "dev";
+        String service = System.getProperty("service", "").trim();
+        String retries = System.getProperty("retries");
+        String retryInterval = System.getProperty("retryInterval");
+
+        String key = env + "|" + service + "|" + retries + "|" + retryInterval + "|" + ChaosProxy.routed(service, "");
+        ResolvedConfig cached = CACHE.get(key);
+        if (cached != null) return cached;
+
+        final String e = env;
+        return CACHE.computeIfAbsent(key, k -> resolve(e, service, retries, retryInterval));
+    }
+
+    static ResolvedConfig resolve(String env, String service, String retriesRaw, String retryIntervalRaw) {
+        EnvConfig envConfig = EnvConfig.load(env);
+
+        // ---- Fail-fast service selection ----
+        if (service.isEmpty()) {
+            throw new IllegalArgumentException("Missing -Dservice. Example: -Dservice=dummyjson (check config/" + env + ".json > services)");
+        }
+        Map<String, Map<String, Object>> services = envConfig.services();
+        Map<String, Object> svc = services.get(service);
+        if (svc == null || EnvConfig.string(svc, "baseUrl", "").isBlank()) {
+            String available = services.isEmpty() ? "(none)" : String.join(", ", services.keySet());
+            throw new IllegalArgumentException("Unknown service=\"" + service + "\". Available: " + available
+                    + " (check config/" + env + ".json > services)");
+        }
+
+        // ---- Retry ----
+        int retryCount = parseInt(retriesRaw, 1);
+        int interval = parseInt(retryIntervalRaw, 1000);
+        if (retryCount < 1) {
+            throw new IllegalArgumentException("Invalid -Dretries=" + retriesRaw + ". Use 1 for no retry, 2+ for retries.");
+        }
+        if (interval < 0) {
+            throw new IllegalArgumentException("Invalid -DretryInterval=" + retryIntervalRaw + ". Use 0 or a positive number (ms).");
+        }
+        Map<String, Object> retry = new LinkedHashMap<>();
+        retry.put("count", retryCount);
+        retry.put("interval", interval);
+
+        // ---- Timeouts ----
+        int connectTimeout = EnvConfig.integer(svc, "connectTimeoutMs", 10_000);
+        int readTimeout = EnvConfig.integer(svc, "readTimeoutMs", 30_000);
+        if (connectTimeout <= 0 || readTimeout <= 0) {
+            throw new IllegalArgumentException("Invalid timeouts for service=\"" + service + "\": connectTimeoutMs=" + connectTimeout
+                    + ", readTimeoutMs=" + readTimeout + " (must be > 0, check config/" + env + ".json > services)");
+        }
+        Map<String, Object> timeouts = new LinkedHashMap<>();
+        timeouts.put("connect", connectTimeout);
+        timeouts.put("read", readTimeout);
+
+        Map<String, Object> commonHeaders = new LinkedHashMap<>();
+        commonHeaders.put("Accept", "application/json");
+        commonHeaders.put("Content-Type", "application/json");
+
+        Map<String, Object> vars = new LinkedHashMap<>(envConfig.root());
+        vars.put("env", env);
+        vars.put("commonHeaders", commonHeaders);
+        vars.put("service", service);
+        vars.put("baseUrl", ChaosProxy.routed(service, EnvConfig.string(svc, "baseUrl", ""))); // default for "* url baseUrl" (chaos proxy when enabled)
+        vars.put("serviceConfig", svc);                                 // full service block for features/helpers
+        SchemaRegistry schemas = SchemaRegistry.forService(service);
+        vars.put("schemas", schemas);                                   // compiled once, until the file changes
+        vars.put("retry", retry);                                       // for debugging/logging
+        vars.put("timeouts", timeouts);                                 // for debugging/logging
+
+        @SuppressWarnings("unchecked")
+        Map<String, Object> frozen = (Map<String, Object>) freeze(vars);
+        @SuppressWarnings("unchecked")
+        Map<String, Object> frozenRetry = (Map<String, Object>) freeze(retry);
+        @SuppressWarnings("unchecked")
+        Map<String, Object> frozenTimeouts = (Map<String, Object>) freeze(timeouts);
+        return new ResolvedConfig(frozen, frozenRetry, frozenTimeouts, envConfig, schemas);
+    }
+
+    private static int parseInt(String raw, int defaultValue) {
+        if (raw == null || raw.isBlank()) return defaultValue;
+        try {
+            return Integer.parseInt(raw.trim());
+        } catch (NumberFormatException e) {
+            return Integer.MIN_VALUE; // reported by the range checks with the raw value
+        }
+    }
+
+    // Deep read-only copy of JSON-like data (other objects, e.g. SchemaRegistry, are shared as-is)
+    static Object freeze(Object v) {
+        return deepCopy(v, true);
+    }
+
+    // Deep mutable copy, e.g. of frozen data
+    static Object thaw(Object v) {
+        return deepCopy(v, false);
+    }
+
+    private static Object deepCopy(Object v, boolean readOnly) {
+        if (v instanceof Map) {
+            Map<String, Object> copy = new LinkedHashMap<>();
+            ((Map<?, ?>) v).forEach((k, val) -> copy.put(String.valueOf(k), deepCopy(val, readOnly)));
+            return readOnly ? Collections.unmodifiableMap(copy) : copy;
+        }
+        if (v instanceof List) {
+            List<Object> copy = new ArrayList<>(((List<?>) v).size());
+            for (Object o : (List<?>) v) copy.add(deepCopy(o, readOnly));
+            return readOnly ? Collections.unmodifiableList(copy) : copy;
+        }
+        return v;
+    }
+}
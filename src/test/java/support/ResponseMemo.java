@@ -0,0 +1,189 @@
+package support;
+
+import com.intuit.karate.http.HttpRequest;
+import com.intuit.karate.http.Response;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+// Run-scoped response cache for idempotent GETs of @memo scenarios (see MemoHttpClient).
+//   key      = method + full URL (path + query params) + request headers (names lower-cased, sorted)
+//   bounded  = LRU over -Dmemo.maxEntries (default 500) and -Dmemo.maxBytes (default 64 MB of bodies)
+//   in-flight requests are shared: concurrent callers with the same key wait for one fetch
+// Only 2xx responses stay cached; failures and errors are handed to the waiting callers and dropped.
+public final class ResponseMemo {
+
+    public static final String STATS_FILE = "memo.properties";
+    static final long MAX_ENTRY_BYTES = 4L << 20; // bigger bodies are passed through, not kept
+
+    private final int maxEntries;
+    private final long maxBytes;
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(64, 0.75f, true); // access order
+    private long bytes;
+
+    final LongAdder hits = new LongAdder();
+    final LongAdder misses = new LongAdder();
+    final LongAdder sharedInFlight = new LongAdder();
+    final LongAdder evictions = new LongAdder();
+    final LongAdder bytesSaved = new LongAdder();
+
+    private static final class Entry {
+        final CompletableFuture<Response> future = new CompletableFuture<>();
+        long bytes;
+    }
+
+    public ResponseMemo(int maxEntries, long maxBytes) {
+        if (maxEntries < 1) throw new IllegalArgumentException("memo.maxEntries must be >= 1. Got " + maxEntries);
+        if (maxBytes < 1) throw new IllegalArgumentException("memo.maxBytes must be >= 1. Got " + maxBytes);
+        this.maxEntries = maxEntries;
+        this.maxBytes = maxBytes;
+    }
+
+    public static ResponseMemo fromSystemProperties() {
+        return new ResponseMemo(
+                Integer.parseInt(System.getProperty("memo.maxEntries", "500").trim()),
+                Long.parseLong(System.getProperty("memo.maxBytes", String.valueOf(64L << 20)).trim()));
+    }
+
+    static boolean memoizable(HttpRequest request) {
+        return "GET".equalsIgnoreCase(request.getMethod());
+    }
+
+    // Cached (or in-flight) response for the key, otherwise fetch() once; every caller gets its own copy
+    Response get(HttpRequest request, Supplier<Response> fetch) {
+        String key = key(request);
+        Entry entry;
+        boolean owner = false;
+        synchronized (this) {
+            entry = entries.get(key);
+            if (entry == null) {
+                entry = new Entry();
+                entries.put(key, entry);
+                owner = true;
+                evict();
+            }
+        }
+
+        if (owner) {
+            misses.increment();
+            Response response;
+            try {
+                response = fetch.get();
+            } catch (RuntimeException | Error e) {
+                drop(key, entry);
+                entry.future.completeExceptionally(e);
+                throw e;
+            }
+            entry.future.complete(response);
+            store(key, entry, response);
+            return copy(response);
+        }
+
+        if (entry.future.isDone()) {
+            hits.increment();
+        } else {
+            sharedInFlight.increment();
+        }
+        Response response;
+        try {
+            response = entry.future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) throw (RuntimeException) e.getCause();
+            throw e;
+        }
+        byte[] body = response.getBody();
+        if (body != null) bytesSaved.add(body.length);
+        return copy(response);
+    }
+
+    private void store(String key, Entry entry, Response response) {
+        int status = response.getStatus();
+        byte[] body = response.getBody();
+        long size = body == null ? 0 : body.length;
+        if (status < 200 || status >= 300 || size > MAX_ENTRY_BYTES) {
+            drop(key, entry);
+            return;
+        }
+        synchronized (this) {
+            if (entries.get(key) != entry) return; // already evicted
+            entry.bytes = size;
+            bytes += size;
+            evict();
+        }
+    }
+
+    private synchronized void drop(String key, Entry entry) {
+        if (entries.get(key) == entry) {
+            entries.remove(key);
+            bytes -= entry.bytes;
+        }
+    }
+
+    // Caller holds the lock; least recently used first
+    private void evict() {
+        Iterator<Entry> it = entries.values().iterator();
+        while ((entries.size() > maxEntries || bytes > maxBytes) && it.hasNext()) {
+            Entry e = it.next();
+            it.remove();
+            bytes -= e.bytes;
+            evictions.increment();
+        }
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    // Assertions may touch headers; the body bytes are never written by Karate and stay shared
+    private static Response copy(Response r) {
+        Map<String, List<String>> headers = null;
+        if (r.getHeaders() != null) {
+            headers = new LinkedHashMap<>();
+            for (Map.Entry<String, List<String>> e : r.getHeaders().entrySet()) {
+                headers.put(e.getKey(), e.getValue() == null ? null : new ArrayList<>(e.getValue()));
+            }
+        }
+        return new Response(r.getStatus(), headers, r.getBody());
+    }
+
+    static String key(HttpRequest request) {
+        StringBuilder sb = new StringBuilder(request.getMethod().toUpperCase(Locale.ROOT))
+                .append(' ').append(request.getUrl());
+        Map<String, List<String>> headers = request.getHeaders();
+        if (headers != null) {
+            Map<String, List<String>> sorted = new TreeMap<>();
+            headers.forEach((k, v) -> sorted.put(k.toLowerCase(Locale.ROOT), v == null ? List.of() : v));
+            sorted.forEach((k, v) -> sb.append('\n').append(k).append(": ").append(String.join(", ", v)));
+        }
+        return sb.toString();
+    }
+
+    // ------------ Stats ------------
+    public void writeStats(Path reportDir) {
+        if (hits.sum() + misses.sum() + sharedInFlight.sum() == 0) return;
+        Properties p = new Properties();
+        p.setProperty("maxEntries", String.valueOf(maxEntries));
+        p.setProperty("maxBytes", String.valueOf(maxBytes));
+        p.setProperty("fetches", String.valueOf(misses.sum()));
+        p.setProperty("hits", String.valueOf(hits.sum()));
+        p.setProperty("sharedInFlight", String.valueOf(sharedInFlight.sum()));
+        p.setProperty("evictions", String.valueOf(evictions.sum()));
+        p.setProperty("bytesSaved", String.valueOf(bytesSaved.sum()));
+        p.setProperty("entries", String.valueOf(size()));
+        try {
+            Files.createDirectories(reportDir);
+            try (OutputStream os = Files.newOutputStream(reportDir.resolve(STATS_FILE))) {
+                p.store(os, "@memo response memoization for this run");
+            }
+        } catch (IOException e) {
+            System.err.println("[ResponseMemo] Could not write stats: " + e.getMessage());
+        }
+    }
+}
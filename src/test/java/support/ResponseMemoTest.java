@@ -0,0 +1,111 @@
+package support;
+
+import com.intuit.karate.http.HttpRequest;
+import com.intuit.karate.http.Response;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResponseMemoTest {
+
+    @Test
+    void keyCoversMethodUrlAndHeadersIgnoringHeaderOrderAndCase() {
+        Map<String, List<String>> h1 = new LinkedHashMap<>();
+        h1.put("Accept", List.of("application/json"));
+        h1.put("Authorization", List.of("Bearer a"));
+        Map<String, List<String>> h2 = new LinkedHashMap<>();
+        h2.put("authorization", List.of("Bearer a"));
+        h2.put("accept", List.of("application/json"));
+
+        assertEquals(ResponseMemo.key(get("https://dummyjson.com/users?limit=5", h1)),
+                ResponseMemo.key(get("https://dummyjson.com/users?limit=5", h2)));
+        assertNotEquals(ResponseMemo.key(get("https://dummyjson.com/users?limit=5", h1)),
+                ResponseMemo.key(get("https://dummyjson.com/users?limit=6", h1)));
+        h2.put("authorization", List.of("Bearer b"));
+        assertNotEquals(ResponseMemo.key(get("https://dummyjson.com/users?limit=5", h1)),
+                ResponseMemo.key(get("https://dummyjson.com/users?limit=5", h2)));
+        assertEquals("GET https://dummyjson.com/users", ResponseMemo.key(get("https://dummyjson.com/users", null)));
+    }
+
+    @Test
+    void onlyGetsAreMemoizable() {
+        HttpRequest post = get("https://dummyjson.com/users/add", null);
+        post.setMethod("POST");
+        assertFalse(ResponseMemo.memoizable(post));
+        assertTrue(ResponseMemo.memoizable(get("https://dummyjson.com/users", null)));
+    }
+
+    @Test
+    void hitsReuseOneFetchAndHandOutCopies() {
+        ResponseMemo memo = new ResponseMemo(10, 1 << 20);
+        AtomicInteger fetches = new AtomicInteger();
+
+        Response first = memo.get(get("https://dummyjson.com/users/1", null), () -> ok(fetches, "{\"id\":1}"));
+        Response second = memo.get(get("https://dummyjson.com/users/1", null), () -> ok(fetches, "{\"id\":1}"));
+
+        assertEquals(1, fetches.get());
+        assertEquals(1, memo.hits.sum());
+        assertNotSame(first, second);
+        assertNotSame(first.getHeaders(), second.getHeaders());
+        assertEquals(8, memo.bytesSaved.sum());
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedByCountAndBytes() {
+        ResponseMemo memo = new ResponseMemo(2, 1 << 20);
+        AtomicInteger fetches = new AtomicInteger();
+        memo.get(get("https://x/a", null), () -> ok(fetches, "a"));
+        memo.get(get("https://x/b", null), () -> ok(fetches, "b"));
+        memo.get(get("https://x/a", null), () -> ok(fetches, "a")); // a is now most recent
+        memo.get(get("https://x/c", null), () -> ok(fetches, "c")); // evicts b
+
+        assertEquals(2, memo.size());
+        assertEquals(1, memo.evictions.sum());
+        memo.get(get("https://x/a", null), () -> ok(fetches, "a"));
+        assertEquals(3, fetches.get());
+        memo.get(get("https://x/b", null), () -> ok(fetches, "b"));
+        assertEquals(4, fetches.get());
+
+        ResponseMemo small = new ResponseMemo(10, 5);
+        small.get(get("https://x/a", null), () -> ok(fetches, "aaa"));
+        small.get(get("https://x/b", null), () -> ok(fetches, "bbb")); // 6 bytes > 5: a goes
+        assertEquals(1, small.size());
+    }
+
+    @Test
+    void failuresAreNotCached() {
+        ResponseMemo memo = new ResponseMemo(10, 1 << 20);
+        memo.get(get("https://x/a", null), () -> new Response(503, Map.of(), new byte[0]));
+        assertEquals(0, memo.size());
+        assertThrows(IllegalStateException.class,
+                () -> memo.get(get("https://x/a", null), () -> { throw new IllegalStateException("boom"); }));
+        assertEquals(0, memo.size());
+    }
+
+    @Test
+    void rejectsInvalidBounds() {
+        assertThrows(IllegalArgumentException.class, () -> new ResponseMemo(0, 1));
+        assertThrows(IllegalArgumentException.class, () -> new ResponseMemo(1, 0));
+    }
+
+    private static HttpRequest get(String url, Map<String, List<String>> headers) {
+        HttpRequest request = new HttpRequest();
+        request.setMethod("GET");
+        request.setUrl(url);
+        request.setHeaders(headers);
+        return request;
+    }
+
+    private static Response ok(AtomicInteger fetches, String body) {
+        fetches.incrementAndGet();
+        Map<String, List<String>> headers = new LinkedHashMap<>();
+        headers.put("Content-Type", List.of("application/json"));
+        return new Response(200, headers, body.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,232 @@
+package support;
+
+import com.intuit.karate.RuntimeHook;
+import com.intuit.karate.core.ScenarioRuntime;
+import com.intuit.karate.http.HttpRequest;
+import com.intuit.karate.http.Response;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.OperatingSystemMXBean;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Properties;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+// Run-level resource + throughput numbers for the executive summary (run-metrics.properties):
+//   wall clock, busy scenario time -> effective parallelism and utilization (of the pool, or of the average
+//   AdaptiveConcurrency limit with -Dthreads=auto), scenarios/s,
+//   HTTP requests/s, time in HTTP, bytes sent/received, plus JVM samples every -Dmetrics.sampleMs
+//   (default 500): heap, GC, process CPU, running scenarios.
+// Always on: a few counters per scenario / request and one sampler thread.
+public class RunMetrics implements RuntimeHook {
+
+    public static final String STATS_FILE = "run-metrics.properties";
+
+    private final int poolSize;
+    private final AdaptiveConcurrency concurrency; // null unless -Dthreads=auto
+    private final long startNanos = System.nanoTime();
+    private final long startCpuNanos = processCpuNanos();
+    private final long startGcCount;
+    private final long startGcMillis;
+    private volatile long endNanos;
+
+    private final LongAdder scenarios = new LongAdder();
+    private final LongAdder busyNanos = new LongAdder();
+    private final LongAdder httpCalls = new LongAdder();
+    private final LongAdder httpNanos = new LongAdder();
+    private final LongAdder bytesSent = new LongAdder();
+    private final LongAdder bytesReceived = new LongAdder();
+    private final AtomicInteger running = new AtomicInteger();
+
+    // Sampler state (sampler thread only, read after stop())
+    private final ScheduledExecutorService sampler;
+    private long samples;
+    private long heapUsedSum;
+    private long heapUsedPeak;
+    private long heapMax;
+    private double cpuSum;
+    private double cpuPeak;
+    private long runningSum;
+    private int threadsPeak;
+    private long lastCpuNanos = startCpuNanos;
+    private long lastSampleNanos = startNanos;
+
+    // Called features run nested on the same thread; only the top-level scenario is counted.
+    // scenarioStart is 0 between scenarios; a leftover start means afterScenario was skipped (vetoed).
+    private final ThreadLocal<long[]> scenarioStart = ThreadLocal.withInitial(() -> new long[1]);
+    private final ThreadLocal<long[]> httpStart = ThreadLocal.withInitial(() -> new long[1]);
+
+    public RunMetrics(int poolSize, AdaptiveConcurrency concurrency) {
+        this.poolSize = poolSize;
+        this.concurrency = concurrency;
+        long[] gc = gcTotals();
+        this.startGcCount = gc[0];
+        this.startGcMillis = gc[1];
+
+        long period = sampleMillis();
+        sampler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "run-metrics-sampler");
+            t.setDaemon(true);
+            return t;
+        });
+        sampler.scheduleAtFixedRate(this::sample, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    private static long sampleMillis() {
+        String raw = System.getProperty("metrics.sampleMs", "500").trim();
+        long period;
+        try {
+            period = Long.parseLong(raw);
+        } catch (NumberFormatException e) {
+            period = 0;
+        }
+        if (period <= 0) throw new IllegalArgumentException("Invalid -Dmetrics.sampleMs=" + raw + " (expected a positive number of milliseconds)");
+        return period;
+    }
+
+    @Override
+    public boolean beforeScenario(ScenarioRuntime sr) {
+        if (!ScenarioLogContext.isTopLevel(sr)) return true;
+        long[] start = scenarioStart.get();
+        if (start[0] == 0) running.incrementAndGet(); // else: the skipped scenario's slot is reused
+        start[0] = System.nanoTime();
+        return true;
+    }
+
+    @Override
+    public void afterScenario(ScenarioRuntime sr) {
+        if (!ScenarioLogContext.isTopLevel(sr)) return;
+        long[] start = scenarioStart.get();
+        if (start[0] == 0) return;
+        busyNanos.add(System.nanoTime() - start[0]);
+        start[0] = 0;
+        scenarios.increment();
+        running.decrementAndGet();
+    }
+
+    @Override
+    public void beforeHttpCall(HttpRequest request, ScenarioRuntime sr) {
+        httpStart.get()[0] = System.nanoTime();
+        byte[] body = request == null ? null : request.getBody();
+        if (body != null) bytesSent.add(body.length);
+    }
+
+    @Override
+    public void afterHttpCall(HttpRequest request, Response response, ScenarioRuntime sr) {
+        httpNanos.add(System.nanoTime() - httpStart.get()[0]);
+        httpCalls.increment();
+        byte[] body = response == null ? null : response.getBody();
+        if (body != null) bytesReceived.add(body.length);
+    }
+
+    // ------------ Sampling ------------
+    private void sample() {
+        long now = System.nanoTime();
+        long cpu = processCpuNanos();
+        int cpus = Runtime.getRuntime().availableProcessors();
+        if (cpu >= 0 && now > lastSampleNanos) {
+            double load = (double) (cpu - lastCpuNanos) / (now - lastSampleNanos) / cpus;
+            cpuSum += load;
+            cpuPeak = Math.max(cpuPeak, load);
+        }
+        lastCpuNanos = cpu;
+        lastSampleNanos = now;
+
+        long heapUsed = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+        heapUsedSum += heapUsed;
+        heapUsedPeak = Math.max(heapUsedPeak, heapUsed);
+        heapMax = Runtime.getRuntime().maxMemory();
+        runningSum += running.get();
+        threadsPeak = Math.max(threadsPeak, ManagementFactory.getThreadMXBean().getThreadCount());
+        samples++;
+    }
+
+    // Whole-process CPU time in nanos, -1 when the JVM does not expose it
+    private static long processCpuNanos() {
+        OperatingSystemMXBean os = ManagementFactory.getOperatingSystemMXBean();
+        if (os instanceof com.sun.management.OperatingSystemMXBean) {
+            return ((com.sun.management.OperatingSystemMXBean) os).getProcessCpuTime();
+        }
+        return -1;
+    }
+
+    private static long[] gcTotals() {
+        long count = 0;
+        long millis = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            count += Math.max(0, gc.getCollectionCount());
+            millis += Math.max(0, gc.getCollectionTime());
+        }
+        return new long[]{count, millis};
+    }
+
+    public void stop() {
+        if (endNanos != 0) return;
+        sampler.shutdown();
+        try {
+            sampler.awaitTermination(2, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        endNanos = System.nanoTime();
+    }
+
+    // ------------ Report ------------
+    public void writeStats(Path reportDir) {
+        stop();
+        double wallSec = Math.max(1e-9, (endNanos - startNanos) / 1e9);
+        double busySec = busyNanos.sum() / 1e9;
+        double parallelism = busySec / wallSec;
+        long[] gc = gcTotals();
+        long cpuNanos = processCpuNanos();
+
+        Properties p = new Properties();
+        p.setProperty("wallMs", String.valueOf(Math.round(wallSec * 1000)));
+        p.setProperty("poolSize", String.valueOf(poolSize));
+        p.setProperty("scenarios", String.valueOf(scenarios.sum()));
+        p.setProperty("busyMs", String.valueOf(Math.round(busySec * 1000)));
+        p.setProperty("effectiveParallelism", fmt(parallelism));
+        // Auto runs never allow the whole pool: measure against what the controller allowed on average
+        double capacity = concurrency != null ? concurrency.timeWeightedLimit() : poolSize;
+        if (concurrency != null) p.setProperty("adaptiveLimitAvg", fmt(capacity));
+        p.setProperty("utilization", fmt(capacity > 0 ? parallelism / capacity : 0));
+        p.setProperty("scenariosPerSec", fmt(scenarios.sum() / wallSec));
+        p.setProperty("httpRequests", String.valueOf(httpCalls.sum()));
+        p.setProperty("httpPerSec", fmt(httpCalls.sum() / wallSec));
+        p.setProperty("httpMs", String.valueOf(TimeUnit.NANOSECONDS.toMillis(httpNanos.sum())));
+        p.setProperty("httpShareOfBusy", fmt(busyNanos.sum() == 0 ? 0 : (double) httpNanos.sum() / busyNanos.sum()));
+        p.setProperty("bytesSent", String.valueOf(bytesSent.sum()));
+        p.setProperty("bytesReceived", String.valueOf(bytesReceived.sum()));
+        p.setProperty("cpus", String.valueOf(Runtime.getRuntime().availableProcessors()));
+        p.setProperty("cpuAvg", fmt(cpuNanos < 0 ? 0 : (double) (cpuNanos - startCpuNanos) / (endNanos - startNanos) / Runtime.getRuntime().availableProcessors()));
+        p.setProperty("cpuPeak", fmt(cpuPeak));
+        p.setProperty("gcCount", String.valueOf(gc[0] - startGcCount));
+        p.setProperty("gcMs", String.valueOf(gc[1] - startGcMillis));
+        p.setProperty("heapAvgBytes", String.valueOf(samples == 0 ? 0 : heapUsedSum / samples));
+        p.setProperty("heapPeakBytes", String.valueOf(heapUsedPeak));
+        p.setProperty("heapMaxBytes", String.valueOf(heapMax));
+        p.setProperty("runningAvg", fmt(samples == 0 ? parallelism : (double) runningSum / samples));
+        p.setProperty("threadsPeak", String.valueOf(threadsPeak));
+        p.setProperty("samples", String.valueOf(samples));
+        try {
+            Files.createDirectories(reportDir);
+            try (OutputStream os = Files.newOutputStream(reportDir.resolve(STATS_FILE))) {
+                p.store(os, "run-level resources and throughput");
+            }
+        } catch (IOException e) {
+            System.err.println("[RunMetrics] Could not write stats: " + e.getMessage());
+        }
+    }
+
+    private static String fmt(double v) {
+        return String.format(Locale.ROOT, "%.3f", v);
+    }
+}
@@ -0,0 +1,142 @@
+package support;
+
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.UnsynchronizedAppenderBase;
+import ch.qos.logback.core.encoder.Encoder;
+import ch.qos.logback.core.filter.Filter;
+import ch.qos.logback.core.spi.FilterReply;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// In-memory, size-capped log buffer per top-level scenario (MDC "scenarioLog").
+// Nothing touches the disk while a scenario runs: ScenarioLogContext discards the buffer
+// when the scenario passes and flushes it to "<scenarioLog>.log" only when it fails.
+// When a buffer exceeds maxBytesPerScenario the oldest events are dropped (the tail is
+// what matters for a failure).
+// Buffers live from ScenarioLogContext's beforeScenario to its afterScenario; events for any
+// other key are dropped, so late or stray events cannot grow the map.
+// Unsynchronized: scenario threads encode and append in parallel; each buffer is only locked by
+// its own scenario (and the flush at its end), never by other scenarios.
+public class ScenarioLogBuffer extends UnsynchronizedAppenderBase<ILoggingEvent> {
+
+    // Shared with ScenarioLogContext (logback instantiates the appender from logback-test.xml)
+    private static final Map<String, Buffer> BUFFERS = new ConcurrentHashMap<>();
+    private static volatile Encoder<ILoggingEvent> activeEncoder;
+    private static volatile int activeMaxBytes = 256 * 1024;
+
+    private Encoder<ILoggingEvent> encoder;
+    private int maxBytesPerScenario = 256 * 1024;
+
+    static final class Buffer {
+        private final Deque<byte[]> events = new ArrayDeque<>();
+        private final int maxBytes;
+        private long size;
+        private long droppedBytes;
+
+        Buffer(int maxBytes) {
+            this.maxBytes = maxBytes;
+        }
+
+        synchronized void add(byte[] bytes) {
+            events.addLast(bytes);
+            size += bytes.length;
+            while (size > maxBytes && events.size() > 1) {
+                byte[] old = events.removeFirst();
+                size -= old.length;
+                droppedBytes += old.length;
+            }
+        }
+
+        synchronized boolean isEmpty() {
+            return events.isEmpty();
+        }
+
+        synchronized void writeTo(OutputStream os) throws IOException {
+            if (droppedBytes > 0) {
+                os.write(("... " + droppedBytes + " bytes of earlier log dropped (cap " + maxBytes + " bytes)\n")
+                        .getBytes(StandardCharsets.UTF_8));
+            }
+            for (byte[] e : events) os.write(e);
+        }
+    }
+
+    // ------------ Logback config ------------
+    public void setEncoder(Encoder<ILoggingEvent> encoder) {
+        this.encoder = encoder;
+    }
+
+    public void setMaxBytesPerScenario(int maxBytesPerScenario) {
+        this.maxBytesPerScenario = maxBytesPerScenario;
+    }
+
+    @Override
+    public void start() {
+        if (encoder == null) {
+            addError("No encoder set for appender " + getClass().getSimpleName());
+            return;
+        }
+        activeEncoder = encoder;
+        activeMaxBytes = maxBytesPerScenario;
+        super.start();
+    }
+
+    @Override
+    protected void append(ILoggingEvent event) {
+        String key = event.getMDCPropertyMap().get(ScenarioLogContext.MDC_KEY);
+        if (key == null) return; // outside a scenario: handled by the file appender
+
+        // Unknown key: the scenario already finished (e.g. a helper thread that copied its MDC)
+        Buffer buffer = BUFFERS.get(key);
+        if (buffer != null) buffer.add(encoder.encode(event));
+    }
+
+    // ------------ Scenario lifecycle (ScenarioLogContext) ------------
+
+    static void open(String key) {
+        BUFFERS.put(key, new Buffer(activeMaxBytes));
+    }
+
+    static void discardAll() {
+        BUFFERS.clear();
+    }
+
+    // Returns the written log file, or null if the scenario passed / logged nothing
+    static Path finish(String key, boolean failed) {
+        Buffer buffer = BUFFERS.remove(key);
+        if (buffer == null || !failed || buffer.isEmpty()) return null;
+
+        Path file = Paths.get(key + ".log");
+        try {
+            Files.createDirectories(file.getParent());
+            try (OutputStream os = Files.newOutputStream(file)) {
+                Encoder<ILoggingEvent> enc = activeEncoder;
+                byte[] header = enc != null ? enc.headerBytes() : null;
+                if (header != null) os.write(header);
+                buffer.writeTo(os);
+            }
+            return file;
+        } catch (IOException e) {
+            System.err.println("[ScenarioLogBuffer] Could not write " + file + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    // Keeps scenario events out of the shared debug log
+    public static class OutsideScenarioFilter extends Filter<ILoggingEvent> {
+        @Override
+        public FilterReply decide(ILoggingEvent event) {
+            return event.getMDCPropertyMap().containsKey(ScenarioLogContext.MDC_KEY)
+                    ? FilterReply.DENY
+                    : FilterReply.NEUTRAL;
+        }
+    }
+}
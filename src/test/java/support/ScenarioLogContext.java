@@ -0,0 +1,95 @@
+package support;
+
+import com.intuit.karate.RuntimeHook;
+import com.intuit.karate.Suite;
+import com.intuit.karate.core.ScenarioRuntime;
+import org.slf4j.MDC;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Tags Karate logs of each top-level scenario (MDC) so ScenarioLogBuffer keeps them in memory,
+// then flushes them to <reportDir>/scenario-logs/ only if the scenario failed.
+// Writes <reportDir>/scenario-logs/index.properties: "<classname>|<scenario name>" -> log file name,
+// used by the executive summary to surface logs next to failed cases.
+public class ScenarioLogContext implements RuntimeHook {
+
+    public static final String MDC_KEY = "scenarioLog";
+    public static final String LOG_DIR = "scenario-logs";
+    public static final String INDEX_FILE = "index.properties";
+
+    private final Path logDir;
+    private final Properties index = new Properties(); // synchronized (Hashtable)
+    private final Map<String, AtomicInteger> keyCounts = new ConcurrentHashMap<>();
+
+    public ScenarioLogContext(Path reportDir) {
+        this.logDir = reportDir.resolve(LOG_DIR);
+    }
+
+    @Override
+    public boolean beforeScenario(ScenarioRuntime sr) {
+        if (!isTopLevel(sr)) return true;
+
+        String classname = classnameOf(sr.scenario.getFeature().getResource().getRelativePath());
+        String baseKey = classname + "_L" + sr.scenario.getLine();
+        int n = keyCounts.computeIfAbsent(baseKey, k -> new AtomicInteger()).incrementAndGet();
+        String baseName = n == 1 ? baseKey : baseKey + "_" + n;
+
+        // ScenarioLogBuffer appends ".log" when flushing
+        String key = logDir.resolve(baseName).toString();
+        ScenarioLogBuffer.open(key);
+        MDC.put(MDC_KEY, key);
+        return true;
+    }
+
+    @Override
+    public void afterScenario(ScenarioRuntime sr) {
+        if (!isTopLevel(sr)) return;
+
+        String key = MDC.get(MDC_KEY);
+        MDC.remove(MDC_KEY);
+        if (key == null) return;
+
+        Path written = ScenarioLogBuffer.finish(key, sr.result.isFailed());
+        if (written != null) {
+            String classname = classnameOf(sr.scenario.getFeature().getResource().getRelativePath());
+            index.setProperty(classname + "|" + sr.scenario.getName(), written.getFileName().toString());
+        }
+    }
+
+    @Override
+    public void afterSuite(Suite suite) {
+        // Buffers of scenarios whose afterScenario never ran (vetoed by another hook, aborted run)
+        ScenarioLogBuffer.discardAll();
+    }
+
+    public void writeIndex() {
+        if (index.isEmpty()) return; // green run: nothing flushed
+        try {
+            Files.createDirectories(logDir);
+            try (OutputStream os = Files.newOutputStream(logDir.resolve(INDEX_FILE))) {
+                index.store(os, "scenario -> log file");
+            }
+        } catch (IOException e) {
+            System.err.println("[ScenarioLogContext] Could not write log index: " + e.getMessage());
+        }
+    }
+
+    // Called features run nested on the caller's thread and share its log, deadline and slot
+    public static boolean isTopLevel(ScenarioRuntime sr) {
+        return sr.caller == null || sr.caller.isNone();
+    }
+
+    // features/tests/dummyjson/users-contract.feature -> features.tests.dummyjson.users-contract
+    static String classnameOf(String relativePath) {
+        String x = relativePath.replace('\\', '/');
+        if (x.endsWith(".feature")) x = x.substring(0, x.length() - ".feature".length());
+        return x.replace('/', '.');
+    }
+}
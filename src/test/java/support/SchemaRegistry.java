@@ -0,0 +1,327 @@
+package support;
+
+import com.intuit.karate.JsonUtils;
+import com.intuit.karate.graal.JsList;
+import com.intuit.karate.graal.JsMap;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+// Named response schemas per service, declared in classpath:config/schemas/<service>.json and
+// compiled once into validators (no re-interpretation of fuzzy matchers per scenario); recompiled
+// when the file changes (size/mtime, for runner.KarateDaemon).
+//
+// Schema syntax (subset of Karate fuzzy markers, "contains" semantics: extra keys are allowed):
+//   "#string" "#number" "#boolean" "#object" "#array" "#[]" "#null" "#notnull" "#present" "#ignore" "#uuid"
+//   "##string" ...    optional: key may be missing or null
+//   "#[] user"        array whose elements match the named schema "user"
+//   "#user"           object matching the named schema "user"
+//   { ... }           inline nested schema
+//   any other value   must be equal (e.g. 1, "Karate Product", true)
+//
+// Usage (karate-config.js exposes "schemas" for the selected service):
+//   * match schemas.check('product', response) == []
+public final class SchemaRegistry {
+
+    private static final Map<String, SchemaRegistry> CACHE = new ConcurrentHashMap<>();
+    private static final List<String> OK = Collections.emptyList();
+    private static final int MAX_ERRORS = 20;
+    private static final Pattern UUID = Pattern.compile("[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12}");
+
+    private final String service;
+    private final long stamp;
+    private final Map<String, CompiledSchema> schemas = new HashMap<>();
+
+    // ------------ Compiled model ------------
+    enum Kind { STRING, NUMBER, BOOLEAN, OBJECT, ARRAY, NULL, NOTNULL, PRESENT, IGNORE, UUID, LITERAL, SCHEMA, ARRAY_OF }
+
+    static final class Rule {
+        final Kind kind;
+        final boolean optional;
+        final Object literal;      // LITERAL
+        final String schemaName;   // SCHEMA / ARRAY_OF (resolved lazily, schemas may reference each other)
+        CompiledSchema inline;     // inline nested object
+
+        Rule(Kind kind, boolean optional, Object literal, String schemaName) {
+            this.kind = kind;
+            this.optional = optional;
+            this.literal = literal;
+            this.schemaName = schemaName;
+        }
+    }
+
+    static final class CompiledSchema {
+        final String name;
+        final String[] keys;
+        final Rule[] rules;
+
+        CompiledSchema(String name, String[] keys, Rule[] rules) {
+            this.name = name;
+            this.keys = keys;
+            this.rules = rules;
+        }
+    }
+
+    private SchemaRegistry(String service, long stamp) {
+        this.service = service;
+        this.stamp = stamp;
+    }
+
+    // ------------ Entry points ------------
+    public static SchemaRegistry forService(String service) {
+        long stamp = FeatureCache.stamp(path(service));
+        SchemaRegistry cached = CACHE.get(service);
+        if (cached != null && cached.stamp == stamp) return cached;
+        SchemaRegistry fresh = load(service, stamp);
+        CACHE.put(service, fresh);
+        return fresh;
+    }
+
+    private static String path(String service) {
+        return "config/schemas/" + service + ".json";
+    }
+
+    public Set<String> names() {
+        return Collections.unmodifiableSet(schemas.keySet());
+    }
+
+    public boolean has(String schemaName) {
+        return schemas.containsKey(schemaName);
+    }
+
+    // Empty list when valid, otherwise up to 20 "<path>: <problem>" messages
+    public List<String> check(String schemaName, Object value) {
+        CompiledSchema schema = schema(schemaName);
+        Context ctx = new Context();
+        validateObject(schema, unwrap(value), ctx);
+        return ctx.errors == null ? OK : ctx.errors;
+    }
+
+    CompiledSchema schema(String schemaName) {
+        CompiledSchema schema = schemas.get(schemaName);
+        if (schema == null) {
+            throw new IllegalArgumentException("Unknown schema '" + schemaName + "' for service=" + service
+                    + ". Available: " + new TreeSet<>(schemas.keySet()) + " (check config/schemas/" + service + ".json)");
+        }
+        return schema;
+    }
+
+    // ------------ Load + compile ------------
+    private static SchemaRegistry load(String service, long stamp) {
+        String path = path(service);
+
+        try (InputStream is = Thread.currentThread().getContextClassLoader().getResourceAsStream(path)) {
+            if (is == null) return new SchemaRegistry(service, stamp); // service without named schemas
+            return compileAll(service, stamp, JsonUtils.fromJson(new String(is.readAllBytes(), StandardCharsets.UTF_8)), path);
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not read classpath:" + path, e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    static SchemaRegistry compileAll(String service, long stamp, Object parsed, String path) {
+        if (!(parsed instanceof Map)) {
+            throw new IllegalArgumentException("Invalid schemas: expected a JSON object in classpath:" + path);
+        }
+        SchemaRegistry registry = new SchemaRegistry(service, stamp);
+        for (Map.Entry<String, Object> e : ((Map<String, Object>) parsed).entrySet()) {
+            if (!(e.getValue() instanceof Map)) {
+                throw new IllegalArgumentException("Schema '" + e.getKey() + "' must be a JSON object in classpath:" + path);
+            }
+            registry.schemas.put(e.getKey(), compile(e.getKey(), (Map<String, Object>) e.getValue()));
+        }
+
+        // Fail fast on dangling references
+        for (CompiledSchema s : registry.schemas.values()) registry.checkReferences(s);
+        return registry;
+    }
+
+    @SuppressWarnings("unchecked")
+    static CompiledSchema compile(String name, Map<String, Object> def) {
+        String[] keys = new String[def.size()];
+        Rule[] rules = new Rule[def.size()];
+        int i = 0;
+        for (Map.Entry<String, Object> e : def.entrySet()) {
+            keys[i] = e.getKey();
+            Object v = e.getValue();
+            if (v instanceof Map) {
+                Rule r = new Rule(Kind.OBJECT, false, null, null);
+                r.inline = compile(name + "." + e.getKey(), (Map<String, Object>) v);
+                rules[i] = r;
+            } else {
+                rules[i] = compileMarker(v);
+            }
+            i++;
+        }
+        return new CompiledSchema(name, keys, rules);
+    }
+
+    static Rule compileMarker(Object v) {
+        if (!(v instanceof String) || !((String) v).startsWith("#")) {
+            return new Rule(Kind.LITERAL, false, v, null);
+        }
+        String m = ((String) v).trim();
+        boolean optional = m.startsWith("##");
+        m = optional ? m.substring(2) : m.substring(1);
+
+        if (m.startsWith("[]") && m.length() > 2) {
+            return new Rule(Kind.ARRAY_OF, optional, null, m.substring(2).trim());
+        }
+        switch (m) {
+            case "string": return new Rule(Kind.STRING, optional, null, null);
+            case "number": return new Rule(Kind.NUMBER, optional, null, null);
+            case "boolean": return new Rule(Kind.BOOLEAN, optional, null, null);
+            case "object": return new Rule(Kind.OBJECT, optional, null, null);
+            case "array":
+            case "[]": return new Rule(Kind.ARRAY, optional, null, null);
+            case "null": return new Rule(Kind.NULL, optional, null, null);
+            case "notnull": return new Rule(Kind.NOTNULL, optional, null, null);
+            case "present": return new Rule(Kind.PRESENT, optional, null, null);
+            case "ignore": return new Rule(Kind.IGNORE, optional, null, null);
+            case "uuid": return new Rule(Kind.UUID, optional, null, null);
+            default: return new Rule(Kind.SCHEMA, optional, null, m);
+        }
+    }
+
+    private void checkReferences(CompiledSchema s) {
+        for (Rule r : s.rules) {
+            if (r.schemaName != null) schema(r.schemaName);
+            if (r.inline != null) checkReferences(r.inline);
+        }
+    }
+
+    // ------------ Validation ------------
+    // Path segments live in a reusable stack; message strings are only built on failure.
+    static final class Context {
+        Object[] path = new Object[16];
+        int depth;
+        List<String> errors;
+
+        void push(Object segment) {
+            if (depth == path.length) path = Arrays.copyOf(path, depth * 2);
+            path[depth++] = segment;
+        }
+
+        void pop() {
+            depth--;
+        }
+
+        boolean full() {
+            return errors != null && errors.size() >= MAX_ERRORS;
+        }
+
+        void fail(String problem) {
+            if (errors == null) errors = new ArrayList<>();
+            if (errors.size() >= MAX_ERRORS) return;
+            StringBuilder sb = new StringBuilder("$");
+            for (int i = 0; i < depth; i++) {
+                Object seg = path[i];
+                if (seg instanceof Integer) sb.append('[').append(seg).append(']');
+                else sb.append('.').append(seg);
+            }
+            errors.add(sb.append(": ").append(problem).toString());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void validateObject(CompiledSchema schema, Object value, Context ctx) {
+        if (!(value instanceof Map)) {
+            ctx.fail("expected object (" + schema.name + ") but was " + describe(value));
+            return;
+        }
+        Map<String, Object> map = (Map<String, Object>) value;
+        for (int i = 0; i < schema.keys.length && !ctx.full(); i++) {
+            String key = schema.keys[i];
+            ctx.push(key);
+            validateValue(schema.rules[i], map.containsKey(key), unwrap(map.get(key)), ctx);
+            ctx.pop();
+        }
+    }
+
+    private void validateValue(Rule rule, boolean present, Object v, Context ctx) {
+        if (rule.kind == Kind.IGNORE) return;
+        if (!present) {
+            if (!rule.optional) ctx.fail("missing");
+            return;
+        }
+        if (v == null && rule.optional) return;
+
+        switch (rule.kind) {
+            case STRING:
+                if (!(v instanceof String)) ctx.fail("expected #string but was " + describe(v));
+                break;
+            case NUMBER:
+                if (!(v instanceof Number)) ctx.fail("expected #number but was " + describe(v));
+                break;
+            case BOOLEAN:
+                if (!(v instanceof Boolean)) ctx.fail("expected #boolean but was " + describe(v));
+                break;
+            case OBJECT:
+                if (rule.inline != null) validateObject(rule.inline, v, ctx);
+                else if (!(v instanceof Map)) ctx.fail("expected #object but was " + describe(v));
+                break;
+            case ARRAY:
+                if (!(v instanceof List)) ctx.fail("expected #array but was " + describe(v));
+                break;
+            case NULL:
+                if (v != null) ctx.fail("expected #null but was " + describe(v));
+                break;
+            case NOTNULL:
+                if (v == null) ctx.fail("expected #notnull");
+                break;
+            case PRESENT:
+                break;
+            case UUID:
+                if (!(v instanceof String) || !UUID.matcher((String) v).matches()) ctx.fail("expected #uuid but was " + describe(v));
+                break;
+            case LITERAL:
+                if (!literalEquals(rule.literal, v)) ctx.fail("expected " + rule.literal + " but was " + describe(v));
+                break;
+            case SCHEMA:
+                validateObject(schema(rule.schemaName), v, ctx);
+                break;
+            case ARRAY_OF:
+                if (!(v instanceof List)) {
+                    ctx.fail("expected #[] " + rule.schemaName + " but was " + describe(v));
+                    break;
+                }
+                CompiledSchema element = schema(rule.schemaName);
+                List<?> list = (List<?>) v;
+                for (int i = 0; i < list.size() && !ctx.full(); i++) {
+                    ctx.push(i);
+                    validateObject(element, unwrap(list.get(i)), ctx);
+                    ctx.pop();
+                }
+                break;
+            default:
+                break;
+        }
+    }
+
+    static boolean literalEquals(Object expected, Object actual) {
+        if (expected instanceof Number && actual instanceof Number) {
+            return ((Number) expected).doubleValue() == ((Number) actual).doubleValue();
+        }
+        return Objects.equals(expected, actual);
+    }
+
+    static String describe(Object v) {
+        if (v == null) return "null";
+        if (v instanceof Map) return "object";
+        if (v instanceof List) return "array";
+        String s = String.valueOf(v);
+        if (s.length() > 40) s = s.substring(0, 37) + "...";
+        return v instanceof String ? "\"" + s + "\"" : s;
+    }
+
+    // Values coming from Karate JS are wrapped in Graal proxies
+    static Object unwrap(Object v) {
+        if (v instanceof JsMap) return ((JsMap) v).getMap();
+        if (v instanceof JsList) return ((JsList) v).getList();
+        return v;
+    }
+}
@@ -0,0 +1,89 @@
+package support;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SchemaRegistryTest {
+
+    @Test
+    void compilesMarkersIntoRules() {
+        assertRule(SchemaRegistry.compileMarker("#string"), SchemaRegistry.Kind.STRING, false, null);
+        assertRule(SchemaRegistry.compileMarker("##number"), SchemaRegistry.Kind.NUMBER, true, null);
+        assertRule(SchemaRegistry.compileMarker("#[]"), SchemaRegistry.Kind.ARRAY, false, null);
+        assertRule(SchemaRegistry.compileMarker("#[] user"), SchemaRegistry.Kind.ARRAY_OF, false, "user");
+        assertRule(SchemaRegistry.compileMarker("##user"), SchemaRegistry.Kind.SCHEMA, true, "user");
+        assertRule(SchemaRegistry.compileMarker("#uuid"), SchemaRegistry.Kind.UUID, false, null);
+
+        SchemaRegistry.Rule literal = SchemaRegistry.compileMarker(42);
+        assertEquals(SchemaRegistry.Kind.LITERAL, literal.kind);
+        assertEquals(42, literal.literal);
+    }
+
+    @Test
+    void compilesNestedObjectsInline() {
+        SchemaRegistry.CompiledSchema s = SchemaRegistry.compile("user", map(
+                "id", "#number",
+                "address", map("city", "#string")));
+
+        assertArrayEquals(new String[]{"id", "address"}, s.keys);
+        assertEquals(SchemaRegistry.Kind.OBJECT, s.rules[1].kind);
+        assertEquals("user.address", s.rules[1].inline.name);
+        assertEquals(SchemaRegistry.Kind.STRING, s.rules[1].inline.rules[0].kind);
+    }
+
+    @Test
+    void checksValuesAgainstNamedSchemas() {
+        SchemaRegistry registry = SchemaRegistry.compileAll("dummyjson", 0, map(
+                "user", map("id", "#number", "email", "##string", "role", "admin", "address", map("city", "#string")),
+                "page", map("users", "#[] user", "total", "#number")), "test");
+
+        Map<String, Object> ok = map("id", 1, "role", "admin", "address", map("city", "Lima"), "extra", true);
+        assertEquals(List.of(), registry.check("user", ok));
+
+        Map<String, Object> bad = map("id", "1", "email", null, "role", "user", "address", map("city", 7));
+        assertEquals(List.of(
+                "$.id: expected #number but was \"1\"",
+                "$.role: expected admin but was \"user\"",
+                "$.address.city: expected #string but was 7"), registry.check("user", bad));
+
+        assertEquals(List.of("$.users[1].id: missing"),
+                registry.check("page", map("users", List.of(ok, map("role", "admin", "address", map("city", "x"))), "total", 2)));
+    }
+
+    @Test
+    void capsErrorsAtTwenty() {
+        SchemaRegistry registry = SchemaRegistry.compileAll("dummyjson", 0, map(
+                "item", map("id", "#number"), "page", map("items", "#[] item")), "test");
+        List<Object> items = new ArrayList<>();
+        for (int i = 0; i < 50; i++) items.add(map("id", "x"));
+
+        assertEquals(20, registry.check("page", map("items", items)).size());
+    }
+
+    @Test
+    void rejectsDanglingReferencesAndUnknownSchemas() {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> SchemaRegistry.compileAll("dummyjson", 0, map("page", map("users", "#[] user")), "test"));
+        assertTrue(e.getMessage().contains("Unknown schema 'user'"), e.getMessage());
+
+        SchemaRegistry registry = SchemaRegistry.compileAll("dummyjson", 0, map("user", map("id", "#number")), "test");
+        assertThrows(IllegalArgumentException.class, () -> registry.check("product", Map.of()));
+        assertThrows(IllegalArgumentException.class, () -> SchemaRegistry.compileAll("dummyjson", 0, List.of(), "test"));
+    }
+
+    private static void assertRule(SchemaRegistry.Rule rule, SchemaRegistry.Kind kind, boolean optional, String schemaName) {
+        assertEquals(kind, rule.kind);
+        assertEquals(optional, rule.optional);
+        assertEquals(schemaName, rule.schemaName);
+    }
+
+    // Insertion-ordered, null-friendly (Map.of is neither)
+    private static Map<String, Object> map(Object... kv) {
+        Map<String, Object> m = new LinkedHashMap<>();
+        for (int i = 0; i < kv.length; i += 2) m.put((String) kv[i], kv[i + 1]);
+        return m;
+    }
+}
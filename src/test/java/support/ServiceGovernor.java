@@ -0,0 +1,172 @@
+package support;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+// Client-side limits for one service, shared by all scenario threads:
+//   maxRps          token bucket (burst = maxRps, at least 1)
+//   maxConcurrency  in-flight request cap (fair semaphore)
+// Both come from the service block in config/<env>.json and are optional (0 / absent = unlimited).
+public class ServiceGovernor {
+
+    public static final String STATS_FILE = "throttle.properties";
+
+    // Governors of the current run, for HTTP made outside Karate's client (e.g. StreamingValidator)
+    private static volatile List<ServiceGovernor> active = List.of();
+
+    final String service;
+    final String baseUrl;
+    final double maxRps;
+    final int maxConcurrency;
+
+    private final Semaphore inFlight;
+    private final double burst;
+    private double tokens;
+    private long lastRefillNanos = System.nanoTime();
+    private long pausedUntilNanos;
+
+    // Stats (reported in the executive summary)
+    final LongAdder calls = new LongAdder();
+    final LongAdder throttledCalls = new LongAdder();
+    final LongAdder waitNanos = new LongAdder();
+    final LongAdder rateLimitedResponses = new LongAdder();
+    private final AtomicInteger current = new AtomicInteger();
+    private final AtomicInteger peak = new AtomicInteger();
+
+    ServiceGovernor(String service, String baseUrl, double maxRps, int maxConcurrency) {
+        if (maxRps < 0) throw new IllegalArgumentException("Invalid maxRps=" + maxRps + " for service=" + service + " (must be >= 0)");
+        if (maxConcurrency < 0) throw new IllegalArgumentException("Invalid maxConcurrency=" + maxConcurrency + " for service=" + service + " (must be >= 0)");
+
+        this.service = service;
+        this.baseUrl = baseUrl;
+        this.maxRps = maxRps;
+        this.maxConcurrency = maxConcurrency;
+        this.inFlight = maxConcurrency > 0 ? new Semaphore(maxConcurrency, true) : null;
+        this.burst = Math.max(1.0, maxRps);
+        this.tokens = burst;
+    }
+
+    // Governors for every service in config/<env>.json that declares a limit
+    public static List<ServiceGovernor> fromConfig(EnvConfig config) {
+        List<ServiceGovernor> list = new ArrayList<>();
+        for (Map.Entry<String, Map<String, Object>> e : config.services().entrySet()) {
+            Map<String, Object> block = e.getValue();
+            double rps = EnvConfig.number(block, "maxRps", 0);
+            int concurrency = EnvConfig.integer(block, "maxConcurrency", 0);
+            String baseUrl = ChaosProxy.routed(e.getKey(), EnvConfig.string(block, "baseUrl", "")); // proxied calls still count
+            if ((rps > 0 || concurrency > 0) && !baseUrl.isBlank()) {
+                list.add(new ServiceGovernor(e.getKey(), baseUrl, rps, concurrency));
+            }
+        }
+        return list;
+    }
+
+    public static void activate(List<ServiceGovernor> governors) {
+        active = List.copyOf(governors);
+    }
+
+    static ServiceGovernor activeFor(String url) {
+        for (ServiceGovernor g : active) {
+            if (g.matches(url)) return g;
+        }
+        return null;
+    }
+
+    // Prefix match on a path boundary: https://dummyjson.com must not claim https://dummyjson.com.evil
+    boolean matches(String url) {
+        if (url == null || !url.startsWith(baseUrl)) return false;
+        if (url.length() == baseUrl.length() || baseUrl.endsWith("/")) return true;
+        char next = url.charAt(baseUrl.length());
+        return next == '/' || next == '?' || next == '#';
+    }
+
+    // Blocks until both a rate token and a concurrency slot are available
+    void acquire() {
+        long start = System.nanoTime();
+        long wait = reserveToken();
+        try {
+            if (wait > 0) TimeUnit.NANOSECONDS.sleep(wait);
+            if (inFlight != null) inFlight.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for service=" + service + " throttle", e);
+        }
+
+        long waited = System.nanoTime() - start;
+        calls.increment();
+        if (waited > TimeUnit.MILLISECONDS.toNanos(1)) {
+            throttledCalls.increment();
+            waitNanos.add(waited);
+        }
+        peak.accumulateAndGet(current.incrementAndGet(), Math::max);
+    }
+
+    void release(int status, String retryAfter) {
+        current.decrementAndGet();
+        if (inFlight != null) inFlight.release();
+        if (status == 429) {
+            rateLimitedResponses.increment();
+            pauseFor(retryAfter);
+        }
+    }
+
+    // Reservation-style token bucket: returns how long the caller must wait (nanos)
+    private synchronized long reserveToken() {
+        if (maxRps <= 0) return Math.max(0, pausedUntilNanos - System.nanoTime());
+
+        long now = System.nanoTime();
+        tokens = Math.min(burst, tokens + (now - lastRefillNanos) * maxRps / 1e9);
+        lastRefillNanos = now;
+        tokens -= 1;
+
+        long wait = tokens >= 0 ? 0 : (long) (-tokens * 1e9 / maxRps);
+        return Math.max(wait, pausedUntilNanos - now);
+    }
+
+    // Server said slow down (429): hold new requests instead of letting retries pile up
+    private synchronized void pauseFor(String retryAfter) {
+        long seconds = 1;
+        if (retryAfter != null) {
+            try {
+                seconds = Math.max(1, Long.parseLong(retryAfter.trim()));
+            } catch (NumberFormatException ignored) {
+                // HTTP-date form: keep the 1s default
+            }
+        }
+        pausedUntilNanos = Math.max(pausedUntilNanos, System.nanoTime() + TimeUnit.SECONDS.toNanos(Math.min(seconds, 30)));
+    }
+
+    // ------------ Report ------------
+    public static void writeStats(List<ServiceGovernor> governors, Path reportDir) {
+        if (governors.isEmpty()) return;
+        Properties p = new Properties();
+        for (ServiceGovernor g : governors) {
+            String k = g.service + ".";
+            p.setProperty(k + "maxRps", String.valueOf(g.maxRps));
+            p.setProperty(k + "maxConcurrency", String.valueOf(g.maxConcurrency));
+            p.setProperty(k + "calls", String.valueOf(g.calls.sum()));
+            p.setProperty(k + "throttledCalls", String.valueOf(g.throttledCalls.sum()));
+            p.setProperty(k + "waitMs", String.valueOf(TimeUnit.NANOSECONDS.toMillis(g.waitNanos.sum())));
+            p.setProperty(k + "peakInFlight", String.valueOf(g.peak.get()));
+            p.setProperty(k + "rateLimited429", String.valueOf(g.rateLimitedResponses.sum()));
+        }
+        try {
+            Files.createDirectories(reportDir);
+            try (OutputStream os = Files.newOutputStream(reportDir.resolve(STATS_FILE))) {
+                p.store(os, "client-side throttling per service");
+            }
+        } catch (IOException e) {
+            System.err.println("[ServiceGovernor] Could not write stats: " + e.getMessage());
+        }
+    }
+}
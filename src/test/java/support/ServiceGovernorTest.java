@@ -0,0 +1,80 @@
+package support;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ServiceGovernorTest {
+
+    @Test
+    void matchesBaseUrlOnPathBoundariesOnly() {
+        ServiceGovernor g = new ServiceGovernor("dummyjson", "https://dummyjson.com", 0, 1);
+
+        assertTrue(g.matches("https://dummyjson.com"));
+        assertTrue(g.matches("https://dummyjson.com/users/1"));
+        assertTrue(g.matches("https://dummyjson.com?limit=5"));
+        assertFalse(g.matches("https://dummyjson.com.evil/users"));
+        assertFalse(g.matches("https://dummyjson.company"));
+        assertFalse(g.matches("http://dummyjson.com/users"));
+        assertFalse(g.matches(null));
+    }
+
+    @Test
+    void baseUrlWithPathOrTrailingSlashMatchesItsSubtree() {
+        ServiceGovernor api = new ServiceGovernor("echo", "https://postman-echo.com/api", 0, 1);
+        assertTrue(api.matches("https://postman-echo.com/api/get"));
+        assertFalse(api.matches("https://postman-echo.com/apix/get"));
+
+        ServiceGovernor slash = new ServiceGovernor("echo", "https://postman-echo.com/", 0, 1);
+        assertTrue(slash.matches("https://postman-echo.com/get"));
+    }
+
+    @Test
+    void activeForPicksTheMatchingGovernor() {
+        ServiceGovernor users = new ServiceGovernor("dummyjson", "https://dummyjson.com", 5, 0);
+        ServiceGovernor echo = new ServiceGovernor("postmanEcho", "https://postman-echo.com", 5, 0);
+        ServiceGovernor.activate(List.of(users, echo));
+        try {
+            assertSame(echo, ServiceGovernor.activeFor("https://postman-echo.com/get"));
+            assertNull(ServiceGovernor.activeFor("https://dummyjson.com.evil/users"));
+        } finally {
+            ServiceGovernor.activate(List.of());
+        }
+    }
+
+    @Test
+    void rateLimitWaitsOnceTheBurstIsSpent() {
+        ServiceGovernor g = new ServiceGovernor("dummyjson", "https://dummyjson.com", 10, 0);
+        long start = System.nanoTime();
+        for (int i = 0; i < 11; i++) {
+            g.acquire();
+            g.release(200, null);
+        }
+        long ms = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertTrue(ms >= 60, "11th call should wait for a token, took " + ms + " ms");
+        assertEquals(11, g.calls.sum());
+        assertEquals(1, g.throttledCalls.sum());
+    }
+
+    @Test
+    void countsRateLimitedResponses() {
+        ServiceGovernor g = new ServiceGovernor("dummyjson", "https://dummyjson.com", 0, 2);
+        g.acquire();
+        g.acquire();
+        g.release(429, "0");
+        g.release(200, null);
+
+        assertEquals(1, g.rateLimitedResponses.sum());
+        assertEquals(2, g.calls.sum());
+    }
+
+    @Test
+    void rejectsNegativeLimits() {
+        assertThrows(IllegalArgumentException.class, () -> new ServiceGovernor("x", "https://x", -1, 0));
+        assertThrows(IllegalArgumentException.class, () -> new ServiceGovernor("x", "https://x", 0, -1));
+    }
+}
@@ -0,0 +1,140 @@
+package support;
+
+import com.intuit.karate.Results;
+import com.intuit.karate.Runner;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+
+// Cold-start workload + benchmark for the AppCDS profile (mvn -Pappcds ..., see pom.xml).
+//
+//   warmup                       one offline Karate feature (parser, GraalJS, matchers) + the executive summary
+//                                generator; prints "ready-ms=<JVM uptime when done>". Also the AppCDS training run.
+//   bench <archive.jsa> [runs]   starts "warmup" in fresh JVMs with and without the archive (same classpath)
+//                                and writes target/appcds/startup-benchmark.properties + jvm.args (java @jvm.args ...)
+public final class StartupBenchmark {
+
+    static final Path OUT_DIR = Paths.get("target/appcds");
+    static final String READY = "ready-ms=";
+
+    private StartupBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        String mode = args.length > 0 ? args[0] : "warmup";
+        switch (mode) {
+            case "warmup":
+                warmup();
+                break;
+            case "bench":
+                if (args.length < 2) throw new IllegalArgumentException("Usage: bench <archive.jsa> [runs]");
+                bench(Paths.get(args[1]), args.length > 2 ? Integer.parseInt(args[2]) : 5);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown mode '" + mode + "' (expected warmup or bench)");
+        }
+    }
+
+    // ------------ Workload ------------
+    static void warmup() throws Exception {
+        Path reportDir = OUT_DIR.resolve("warmup-reports");
+        Results results = Runner.builder()
+                .path("classpath:startup/warmup.feature")
+                .configDir("classpath:startup") // no karate-config.js there: no -Dservice needed
+                .reportDir(reportDir.toString())
+                .outputJunitXml(true)
+                .parallel(1);
+        if (results.getFailCount() > 0) {
+            throw new IllegalStateException("Warm-up feature failed: " + results.getErrorMessages());
+        }
+
+        report.ExecutiveSummaryReport.generate(results, "startup", "warmup", "local", reportDir,
+                OUT_DIR.resolve("warmup-summary/index.html"));
+
+        System.out.println(READY + ManagementFactory.getRuntimeMXBean().getUptime());
+    }
+
+    // ------------ Benchmark ------------
+    static void bench(Path archive, int runs) throws IOException, InterruptedException {
+        if (!Files.isRegularFile(archive)) {
+            throw new IllegalArgumentException("AppCDS archive not found: " + archive.toAbsolutePath() + " (run the training step first)");
+        }
+        if (runs < 1) throw new IllegalArgumentException("runs must be >= 1. Got " + runs);
+
+        String java = Paths.get(System.getProperty("java.home"), "bin", "java").toString();
+        String classpath = System.getProperty("java.class.path");
+
+        List<Long> cold = new ArrayList<>();
+        List<Long> cds = new ArrayList<>();
+        for (int i = 0; i < runs; i++) {
+            // Interleave so machine noise hits both variants alike
+            cold.add(runOnce(List.of(java, "-Xshare:auto", "-cp", classpath, StartupBenchmark.class.getName(), "warmup")));
+            cds.add(runOnce(List.of(java, "-XX:SharedArchiveFile=" + archive, "-Xshare:auto", "-cp", classpath,
+                    StartupBenchmark.class.getName(), "warmup")));
+        }
+
+        long coldMedian = median(cold);
+        long cdsMedian = median(cds);
+        double gain = coldMedian == 0 ? 0 : 100.0 * (coldMedian - cdsMedian) / coldMedian;
+
+        Properties p = new Properties();
+        p.setProperty("runs", String.valueOf(runs));
+        p.setProperty("archive", archive.toString());
+        p.setProperty("archiveBytes", String.valueOf(Files.size(archive)));
+        p.setProperty("coldMedianMs", String.valueOf(coldMedian));
+        p.setProperty("cdsMedianMs", String.valueOf(cdsMedian));
+        p.setProperty("coldRunsMs", cold.toString());
+        p.setProperty("cdsRunsMs", cds.toString());
+        p.setProperty("improvementPct", String.format(Locale.ROOT, "%.1f", gain));
+        Files.createDirectories(OUT_DIR);
+        // Argfile for launching other JVMs on the archive (classpath must match the training run)
+        Files.writeString(OUT_DIR.resolve("jvm.args"), String.join("\n",
+                "-XX:SharedArchiveFile=" + archive.toAbsolutePath(), "-Xshare:auto", "-cp", quote(classpath)) + "\n");
+        try (OutputStream os = Files.newOutputStream(OUT_DIR.resolve("startup-benchmark.properties"))) {
+            p.store(os, "time to ready (JVM start -> warm-up workload done), median of " + runs + " runs");
+        }
+
+        System.out.printf(Locale.ROOT, "[StartupBenchmark] runs=%d  default CDS: %d ms  AppCDS: %d ms  (%.1f%% faster)%n",
+                runs, coldMedian, cdsMedian, gain);
+    }
+
+    // Time to ready as reported by the child; falls back to wall time
+    private static long runOnce(List<String> command) throws IOException, InterruptedException {
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+        long ready = -1;
+        StringBuilder tail = new StringBuilder();
+        try (BufferedReader r = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = r.readLine()) != null) {
+                if (line.startsWith(READY)) ready = Long.parseLong(line.substring(READY.length()).trim());
+                tail.append(line).append('\n');
+                if (tail.length() > 4000) tail.delete(0, tail.length() - 4000);
+            }
+        }
+        int exit = process.waitFor();
+        if (exit != 0) {
+            throw new IllegalStateException("Warm-up JVM exited with " + exit + ":\n" + tail);
+        }
+        return ready >= 0 ? ready : (System.nanoTime() - start) / 1_000_000;
+    }
+
+    // Argfile tokens with spaces/backslashes must be quoted
+    private static String quote(String s) {
+        return "\"" + s.replace("\\", "\\\\").replace("\"", "\\\"") + "\"";
+    }
+
+    static long median(List<Long> values) {
+        List<Long> sorted = new ArrayList<>(values);
+        Collections.sort(sorted);
+        return sorted.get(sorted.size() / 2);
+    }
+}
@@ -0,0 +1,298 @@
+package support;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+// Contract checks for large list endpoints without materializing the response:
+// array elements are parsed and validated one at a time against a named schema (SchemaRegistry).
+//
+//   * def Streaming = Java.type('support.StreamingValidator')
+//   # one request, e.g. a full dump with limit=0
+//   * def result = Streaming.stream(schemas, baseUrl + '/products?limit=0', 'products', 'product')
+//   # follow skip/limit/total, fetching up to 4 pages concurrently
+//   * def result = Streaming.pages(schemas, baseUrl + '/products', 'products', 'product', 100, 4)
+//   * match result.errors == []
+//   * match result.count == result.total
+//
+// Requests go through the run's ServiceGovernor (maxRps / maxConcurrency) when one applies, use the
+// service's connect/read timeouts (ResolvedConfig) and honour the scenario / suite deadline (Deadlines):
+// checked before each page, and a page still being read when it passes is aborted. A passed deadline
+// fails the step with Deadlines.MARKER like any other request.
+public final class StreamingValidator {
+
+    private static final int MAX_ERRORS = 20;
+    private static final long WATCH_PERIOD_MS = 100;
+
+    // One JDK client per connect timeout (the only per-client setting)
+    private static final Map<Integer, HttpClient> CLIENTS = new ConcurrentHashMap<>();
+
+    // Aborts page bodies that stall past the read timeout or outlive the deadline
+    private static final ScheduledExecutorService WATCHDOG = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "streaming-validator-watchdog");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private StreamingValidator() {
+    }
+
+    // Timeouts and deadline of the calling scenario, captured on its thread and shared with page workers
+    static final class Limits {
+        final int connectMs;
+        final int readMs;
+        final Deadlines deadlines;
+        final Deadlines.Budget budget;
+
+        Limits(int connectMs, int readMs, Deadlines deadlines) {
+            this.connectMs = connectMs;
+            this.readMs = readMs;
+            this.deadlines = deadlines;
+            this.budget = deadlines != null ? deadlines.budget() : null;
+        }
+
+        static Limits current() {
+            Map<String, Object> timeouts = ResolvedConfig.timeouts();
+            return new Limits(((Number) timeouts.get("connect")).intValue(), ((Number) timeouts.get("read")).intValue(),
+                    Deadlines.active());
+        }
+
+        long remainingNanos() {
+            return budget != null ? budget.remainingNanos() : Long.MAX_VALUE;
+        }
+
+        boolean expired() {
+            return remainingNanos() <= 0;
+        }
+
+        // Scenario thread only: Deadlines records the timeout against the current scenario
+        void check(Tally tally) {
+            String what = tally.deadlineExceeded.get();
+            if (what != null) throw deadlines.timeout(budget, what);
+        }
+
+        HttpClient client() {
+            return CLIENTS.computeIfAbsent(connectMs, ms -> HttpClient.newBuilder()
+                    .connectTimeout(Duration.ofMillis(ms))
+                    .followRedirects(HttpClient.Redirect.NORMAL)
+                    .build());
+        }
+    }
+
+    // Response body that remembers when it last made progress; closed by the watchdog to abort a read
+    static final class WatchedBody extends FilterInputStream {
+        volatile long lastProgressNanos = System.nanoTime();
+        volatile String abortReason;
+
+        WatchedBody(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            lastProgressNanos = System.nanoTime();
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buf, int off, int len) throws IOException {
+            int n = super.read(buf, off, len);
+            lastProgressNanos = System.nanoTime();
+            return n;
+        }
+
+        void abort(String reason) {
+            if (abortReason != null) return;
+            abortReason = reason;
+            try {
+                close();
+            } catch (IOException ignored) {
+                // the reader sees the closed stream either way
+            }
+        }
+    }
+
+    // Thread-safe result accumulator shared by page workers
+    static final class Tally {
+        final AtomicLong count = new AtomicLong();
+        final AtomicLong chars = new AtomicLong();
+        final AtomicLong pages = new AtomicLong();
+        final List<String> errors = Collections.synchronizedList(new ArrayList<>());
+        final AtomicReference<String> deadlineExceeded = new AtomicReference<>();
+
+        void error(String message) {
+            if (errors.size() < MAX_ERRORS) errors.add(message);
+        }
+
+        void deadline(String what) {
+            deadlineExceeded.compareAndSet(null, what);
+        }
+
+        Map<String, Object> toMap(long total, long startNanos) {
+            Map<String, Object> m = new LinkedHashMap<>();
+            m.put("count", count.get());
+            m.put("total", total);
+            m.put("pages", pages.get());
+            m.put("chars", chars.get());
+            m.put("elapsedMs", (System.nanoTime() - startNanos) / 1_000_000);
+            synchronized (errors) {
+                m.put("errors", new ArrayList<>(errors));
+            }
+            return m;
+        }
+    }
+
+    // ------------ Single streamed response ------------
+    public static Map<String, Object> stream(SchemaRegistry schemas, String url, String arrayField, String schemaName) {
+        long start = System.nanoTime();
+        schemas.schema(schemaName); // fail fast on unknown schema
+        Limits limits = Limits.current();
+        Tally tally = new Tally();
+        Map<String, Object> scalars = fetchPage(schemas, url, arrayField, schemaName, 0, tally, limits);
+        limits.check(tally);
+        long total = scalars != null ? asLong(scalars.get("total"), tally.count.get()) : tally.count.get();
+        return tally.toMap(total, start);
+    }
+
+    // ------------ Paginated (skip / limit / total) ------------
+    public static Map<String, Object> pages(SchemaRegistry schemas, String url, String arrayField, String schemaName,
+                                            int pageSize, int parallelism) {
+        if (pageSize <= 0) throw new IllegalArgumentException("pageSize must be > 0. Got " + pageSize);
+        if (parallelism <= 0) throw new IllegalArgumentException("parallelism must be > 0. Got " + parallelism);
+
+        long start = System.nanoTime();
+        schemas.schema(schemaName);
+        Limits limits = Limits.current();
+        Tally tally = new Tally();
+
+        // First page tells us the total
+        Map<String, Object> first = fetchPage(schemas, pageUrl(url, pageSize, 0), arrayField, schemaName, 0, tally, limits);
+        limits.check(tally);
+        if (first == null) return tally.toMap(tally.count.get(), start);
+        long total = asLong(first.get("total"), tally.count.get());
+
+        ExecutorService pool = Executors.newFixedThreadPool(parallelism, r -> {
+            Thread t = new Thread(r, "streaming-validator");
+            t.setDaemon(true);
+            return t;
+        });
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (long skip = pageSize; skip < total; skip += pageSize) {
+                final long s = skip;
+                futures.add(pool.submit(() -> fetchPage(schemas, pageUrl(url, pageSize, s), arrayField, schemaName, s, tally, limits)));
+            }
+            for (Future<?> f : futures) {
+                long left = limits.remainingNanos();
+                if (left <= 0) {
+                    tally.deadline("waiting for pages of GET " + url);
+                    break;
+                }
+                f.get(left, TimeUnit.NANOSECONDS);
+            }
+        } catch (TimeoutException e) {
+            tally.deadline("waiting for pages of GET " + url);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            tally.error("interrupted while fetching pages");
+        } catch (ExecutionException e) {
+            tally.error("page worker failed: " + e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+        limits.check(tally);
+        return tally.toMap(total, start);
+    }
+
+    // Streams one response; returns its top-level scalars (null on transport/HTTP error)
+    // A passed deadline is recorded in tally.deadlineExceeded for the scenario thread to raise (Limits.check)
+    static Map<String, Object> fetchPage(SchemaRegistry schemas, String url, String arrayField, String schemaName,
+                                         long offset, Tally tally, Limits limits) {
+        if (limits.expired()) {
+            tally.deadline("before GET " + url);
+            return null;
+        }
+        // Response headers within the read timeout, and never past the deadline
+        long headersNanos = Math.min(TimeUnit.MILLISECONDS.toNanos(limits.readMs), limits.remainingNanos());
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url))
+                .timeout(Duration.ofNanos(Math.max(1, headersNanos)))
+                .header("Accept", "application/json")
+                .GET()
+                .build();
+
+        ServiceGovernor governor = ServiceGovernor.activeFor(url);
+        if (governor != null) governor.acquire();
+        int status = 0;
+        String retryAfter = null;
+        WatchedBody watched = null;
+        ScheduledFuture<?> watch = null;
+        try {
+            HttpResponse<InputStream> response = limits.client().send(request, HttpResponse.BodyHandlers.ofInputStream());
+            status = response.statusCode();
+            retryAfter = response.headers().firstValue("Retry-After").orElse(null);
+            WatchedBody body = watched = new WatchedBody(response.body());
+            long readNanos = TimeUnit.MILLISECONDS.toNanos(limits.readMs);
+            watch = WATCHDOG.scheduleAtFixedRate(() -> {
+                if (limits.expired()) body.abort("deadline");
+                else if (System.nanoTime() - body.lastProgressNanos > readNanos) body.abort("read timeout after " + limits.readMs + " ms");
+            }, WATCH_PERIOD_MS, WATCH_PERIOD_MS, TimeUnit.MILLISECONDS);
+            try (InputStream in = body;
+                 Reader reader = new InputStreamReader(in, StandardCharsets.UTF_8)) {
+                if (status != 200) {
+                    tally.error(url + ": HTTP " + status);
+                    return null;
+                }
+                JsonStreamReader json = new JsonStreamReader(reader);
+                long[] index = {offset};
+                Map<String, Object> scalars = json.streamArrayField(arrayField, element -> {
+                    List<String> errors = schemas.check(schemaName, element);
+                    if (!errors.isEmpty()) {
+                        String at = "$." + arrayField + "[" + index[0] + "]";
+                        for (String e : errors) tally.error(at + e.substring(1));
+                    }
+                    index[0]++;
+                    tally.count.incrementAndGet();
+                });
+                tally.chars.addAndGet(json.charsRead());
+                tally.pages.incrementAndGet();
+                return scalars;
+            }
+        } catch (IOException e) {
+            String reason = watched != null ? watched.abortReason : null;
+            if ("deadline".equals(reason) || (reason == null && limits.expired())) {
+                tally.deadline((watched != null ? "reading GET " : "waiting for GET ") + url);
+            } else {
+                tally.error(url + ": " + (reason != null ? reason : e.getMessage()));
+            }
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            tally.error(url + ": interrupted");
+            return null;
+        } finally {
+            if (watch != null) watch.cancel(false);
+            if (governor != null) governor.release(status, retryAfter);
+        }
+    }
+
+    static String pageUrl(String url, int limit, long skip) {
+        return url + (url.contains("?") ? "&" : "?") + "limit=" + limit + "&skip=" + skip;
+    }
+
+    static long asLong(Object v, long defaultValue) {
+        return v instanceof Number ? ((Number) v).longValue() : defaultValue;
+    }
+}
@@ -0,0 +1,77 @@
+package support;
+
+import com.intuit.karate.core.Config;
+import com.intuit.karate.http.HttpClient;
+import com.intuit.karate.http.HttpClientFactory;
+import com.intuit.karate.http.HttpRequest;
+import com.intuit.karate.http.Response;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Wraps Karate's HTTP client so every request to a governed service passes its ServiceGovernor.
+public class ThrottledHttpClient implements HttpClient {
+
+    private final HttpClient delegate;
+    private final List<ServiceGovernor> governors;
+
+    public ThrottledHttpClient(HttpClient delegate, List<ServiceGovernor> governors) {
+        this.delegate = delegate;
+        this.governors = governors;
+    }
+
+    public static HttpClientFactory factory(HttpClientFactory delegate, List<ServiceGovernor> governors) {
+        return engine -> new ThrottledHttpClient(delegate.create(engine), governors);
+    }
+
+    @Override
+    public void setConfig(Config config) {
+        delegate.setConfig(config);
+    }
+
+    @Override
+    public Config getConfig() {
+        return delegate.getConfig();
+    }
+
+    @Override
+    public Response invoke(HttpRequest request) {
+        ServiceGovernor governor = governorFor(request.getUrl());
+        if (governor == null) return delegate.invoke(request);
+
+        governor.acquire();
+        // Released once: on completion, or early when DeadlineHttpClient abandons the call still running here
+        AtomicBoolean released = new AtomicBoolean();
+        DeadlineHttpClient.onAbandon(() -> {
+            if (released.compareAndSet(false, true)) governor.release(0, null);
+        });
+        Response response = null;
+        try {
+            response = delegate.invoke(request);
+            return response;
+        } finally {
+            if (released.compareAndSet(false, true)) {
+                int status = response == null ? 0 : response.getStatus();
+                governor.release(status, response == null ? null : header(response.getHeaders(), "Retry-After"));
+            }
+        }
+    }
+
+    private ServiceGovernor governorFor(String url) {
+        for (ServiceGovernor g : governors) {
+            if (g.matches(url)) return g;
+        }
+        return null;
+    }
+
+    static String header(Map<String, List<String>> headers, String name) {
+        if (headers == null) return null;
+        for (Map.Entry<String, List<String>> e : headers.entrySet()) {
+            if (name.equalsIgnoreCase(e.getKey()) && e.getValue() != null && !e.getValue().isEmpty()) {
+                return e.getValue().get(0);
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,18 @@
+Feature: DummyJSON workflow node - logged-in user (called once per run via karate.callSingle)
+
+  Scenario: Login and resolve the current user
+    # upstream node: one login per run, shared by every caller
+    * def login = karate.callSingle('classpath:features/calls/auth/dummyjson-login.feature')
+
+    * url baseUrl
+    * headers commonHeaders
+    * header Authorization = login.authHeader
+
+    Given path 'auth', 'me'
+    When method get
+    Then status 200
+    * match schemas.check('authUser', response) == []
+
+    # outputs for downstream scenarios
+    * def authHeader = login.authHeader
+    * def userId = response.id
@@ -1,30 +1,26 @@
 @svc_dummyjson @smoke
 Feature: DummyJSON Workflow - Regression
 
+  # Workflow as a DAG: login -> auth/me -> { users/{id}, posts/add }
+  # Shared upstream nodes live in features/calls/workflow and are reached through karate.callSingle,
+  # so each runs once per run (other callers wait for it) and hands its outputs (userId, authHeader) down.
+  # Scenarios of this feature are the independent branches and run concurrently on the runner's threads.
+  # To add a step: depend on an existing node, or add a node feature that callSingle()s its own upstream.
+
   Background:
     * url baseUrl
     * headers commonHeaders
+    * def me = karate.callSingle('classpath:features/calls/workflow/dummyjson-me.feature')
 
-  Scenario: Workflow - login -> auth/me -> users/{id} -> posts/add
-    * def login = call read('classpath:features/calls/auth/dummyjson-login.feature')
-    * header Authorization = login.authHeader
-
-    # 1) me (protected)
-    Given path 'auth', 'me'
-    When method get
-    Then status 200
-    * match response contains { id: '#number', username: '#string' }
-    * def userId = response.id
-
-    # 2) user details (public)
-    Given path 'users', userId
+  Scenario: Workflow - users/{id} returns the logged-in user
+    Given path 'users', me.userId
     When method get
     Then status 200
-    * match response.id == userId
+    * match response.id == me.userId
 
-    # 3) add post (public)
+  Scenario: Workflow - posts/add creates a post for the logged-in user
     Given path 'posts', 'add'
-    And request { title: 'Post created by Karate', userId: '#(userId)' }
+    And request { title: 'Post created by Karate', userId: '#(me.userId)' }
     When method post
     * assert responseStatus == 200 || responseStatus == 201
-    * match response contains { id: '#number', title: '#string', userId: '#number' }
+    * match schemas.check('post', response) == []
@@ -11,23 +11,15 @@ Feature: DummyJSON Products - Contract
     Given path 'products', 1
     When method get
     Then status 200
-    * match response contains
-      """
-      {
-        id: 1,
-        title: '#string',
-        price: '#number',
-        category: '#string',
-        thumbnail: '#string'
-      }
-      """
+    * match schemas.check('product', response) == []
+    * match response.id == 1
 
   Scenario: Products - GET /products returns list + metadata
     Given path 'products'
     And param limit = 5
     When method get
     Then status 200
-    * match response contains { products: '#[]', total: '#number', skip: '#number', limit: '#number' }
+    * match schemas.check('productList', response) == []
     * match response.products.length == 5
 
   Scenario: Products - POST /products/add returns created product data
@@ -36,3 +28,9 @@ Feature: DummyJSON Products - Contract
     When method post
     * assert responseStatus == 200 || responseStatus == 201
     * match response contains { id: '#number', title: 'Karate Product', price: 123 }
+
+  Scenario: Products - full catalogue streams and matches the product schema
+    * def Streaming = Java.type('support.StreamingValidator')
+    * def result = Streaming.pages(schemas, baseUrl + '/products', 'products', 'product', 50, 4)
+    * match result.errors == []
+    * match result.count == result.total
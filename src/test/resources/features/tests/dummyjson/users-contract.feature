@@ -1,4 +1,4 @@
-@smoke @svc_dummyjson
+@smoke @svc_dummyjson @memo
 Feature: DummyJSON Users - Contract
 
   Background:
@@ -9,11 +9,12 @@ Feature: DummyJSON Users - Contract
     Given path 'users', 1
     When method get
     Then status 200
-    * match response contains { id: 1, firstName: '#string', lastName: '#string', age: '#number' }
+    * match schemas.check('user', response) == []
+    * match response.id == 1
 
   Scenario: Users - GET /users/search returns users array + metadata
     Given path 'users', 'search'
     And param q = 'john'
     When method get
     Then status 200
-    * match response contains { users: '#[]', total: '#number', skip: '#number', limit: '#number' }
+    * match schemas.check('userList', response) == []
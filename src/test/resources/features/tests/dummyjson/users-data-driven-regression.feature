@@ -0,0 +1,33 @@
+@regression @svc_dummyjson
+Feature: DummyJSON Users - Data-driven Regression
+
+  # Data-driven outlines (one live call per row), kept out of @smoke
+  Background:
+    * url baseUrl
+    * headers commonHeaders
+    # Lazy example sources for the outlines below (support.ExampleSource)
+    * def Examples = Java.type('support.ExampleSource')
+    * def nextUser = function(i){ return Examples.range('user-ids', 'id', 1, 30).row(i) }
+    * def nextQuery = function(i){ return Examples.csv('user-search', 'classpath:data/user-search.csv').row(i) }
+
+  # Rows are streamed lazily (support.ExampleSource) and spread over the runner threads
+  Scenario Outline: Users - GET /users/<id> matches the user schema across an id range
+    Given path 'users', id
+    When method get
+    Then status 200
+    * match schemas.check('user', response) == []
+    * match response.id == id
+
+    Examples:
+      | nextUser |
+
+  Scenario Outline: Users - GET /users/search?q=<q> returns matches from a CSV dataset
+    Given path 'users', 'search'
+    And param q = q
+    When method get
+    Then status 200
+    * match schemas.check('userList', response) == []
+    * assert response.total >= parseInt(minTotal)
+
+    Examples:
+      | nextQuery |
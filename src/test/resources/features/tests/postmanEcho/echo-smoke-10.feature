@@ -59,14 +59,14 @@ Feature: Postman Echo - 10 easy smoke scenarios (for logging demo)
     When method head
     Then status 200
 
-  @baseYeto
+  @baseYeto @memo
   Scenario: Echo - GET /headers returns request headers in response JSON
     Given path 'headers'
     When method get
     Then status 200
     * match response.headers.accept contains 'application/json'
 
-  @baseYeto
+  @baseYeto @memo
   Scenario: Echo - GET /response-headers returns custom response headers
     Given path 'response-headers'
     And param test = 'hello'
@@ -74,7 +74,7 @@ Feature: Postman Echo - 10 easy smoke scenarios (for logging demo)
     Then status 200
     * match responseHeaders['test'] == 'hello'
 
-  @baseYeto
+  @baseYeto @memo
   Scenario: Echo - GET /3 flow
     Given path 'response-headers'
     And param test = 'hello'
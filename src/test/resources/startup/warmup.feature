@@ -0,0 +1,12 @@
+Feature: JVM warm-up workload (AppCDS training + startup benchmark, no network)
+
+  Scenario: parser, JS engine and matchers
+    * def payload = { id: 1, title: 'warm-up', tags: ['a', 'b'], price: 9.5 }
+    * def twice = function(x){ return x * 2 }
+    * match twice(payload.price) == 19
+    * match payload == { id: '#number', title: '#string', tags: '#[2]', price: '#number' }
+    * match each payload.tags == '#string'
+    * def copy = karate.merge(payload, { id: 2 })
+    * match copy.id == 2
+    * xml doc = <root><a>1</a></root>
+    * match doc/root/a == '1'